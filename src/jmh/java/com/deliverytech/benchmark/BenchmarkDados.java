@@ -0,0 +1,75 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.entity.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Massa de dados compartilhada pelos benchmarks: entidades já montadas, como sairiam do banco.
+ */
+final class BenchmarkDados {
+
+    private BenchmarkDados() {
+    }
+
+    static Restaurante restaurante() {
+        return Restaurante.builder()
+                .id(1L)
+                .nome("Pizza Express")
+                .categoria("Italiana")
+                .endereco("Rua das Flores, 123 - Centro")
+                .telefone("11999999999")
+                .horarioFuncionamento("18:00-23:00")
+                .taxaEntrega(new BigDecimal("5.50"))
+                .tempoEntrega(45)
+                .ativo(true)
+                .build();
+    }
+
+    static Produto produto(long id, Restaurante restaurante) {
+        return Produto.builder()
+                .id(id)
+                .nome("Produto " + id)
+                .descricao("Descrição do produto " + id)
+                .categoria("Pizza")
+                .preco(new BigDecimal("19.90").add(BigDecimal.valueOf(id)))
+                .disponivel(true)
+                .restaurante(restaurante)
+                .build();
+    }
+
+    static List<ItemPedido> itens(int quantidadeItens, Restaurante restaurante) {
+        List<ItemPedido> itens = new ArrayList<>(quantidadeItens);
+        for (int i = 1; i <= quantidadeItens; i++) {
+            Produto produto = produto(i, restaurante);
+            itens.add(ItemPedido.builder()
+                    .id((long) i)
+                    .produto(produto)
+                    .quantidade(1 + i % 3)
+                    .precoUnitario(produto.getPreco())
+                    .build());
+        }
+        return itens;
+    }
+
+    static Pedido pedido(int quantidadeItens) {
+        Restaurante restaurante = restaurante();
+        Cliente cliente = Cliente.builder().id(1L).nome("João Silva").email("joao@email.com").telefone("11999999999").build();
+        List<ItemPedido> itens = itens(quantidadeItens, restaurante);
+        itens.forEach(ItemPedido::calcularSubtotal);
+        Pedido pedido = Pedido.builder()
+                .id(1L)
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .status(StatusPedido.CONFIRMADO)
+                .dataPedido(LocalDateTime.of(2024, 5, 10, 12, 30))
+                .enderecoEntrega(new Endereco("Rua A", "10", "Centro", "São Paulo", "SP", "01000-000"))
+                .itens(itens)
+                .build();
+        pedido.calcularTotal();
+        return pedido;
+    }
+}
@@ -0,0 +1,161 @@
+package com.deliverytech.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Teste de carga HTTP contra uma instância já em execução da API, para comparar o modo
+ * padrão (threads de plataforma) com o perfil "virtual" (threads virtuais + limite de concorrência).
+ *
+ * Uso:
+ *   1. ./mvnw spring-boot:run -Dspring-boot.run.arguments=--limite-taxa.habilitado=false
+ *      (ou com -Dspring-boot.run.profiles=virtual)
+ *   2. ./mvnw -Pbenchmark test-compile exec:exec -Djmh.args="CargaHttpBenchmark"
+ *   3. Repita com o outro modo e compare vazão e percentis (modo SampleTime).
+ *
+ * Todas as threads usam o mesmo token, ou seja, o mesmo balde do limite de taxa: com ele ligado
+ * o teste mede o 429 e não a API. O setup aborta se o limite estiver ativo.
+ *
+ * O score principal conta todas as chamadas; as métricas secundárias separam as respostas 2xx
+ * ("sucesso") das rejeitadas pelo limite de concorrência (503), pelo limite de taxa (429) e dos
+ * demais erros. Compare os modos pela vazão de "sucesso".
+ *
+ * A URL pode ser trocada com -Djmh.args="CargaHttpBenchmark -p baseUrl=http://host:8080".
+ * O número de clientes simultâneos é controlado por @Threads (ou "-t N" em jmh.args).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 3, time = 10)
+@Threads(400)
+@Fork(1)
+public class CargaHttpBenchmark {
+
+    private static final String JSON = "application/json";
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    @Param({"http://localhost:8080"})
+    private String baseUrl;
+
+    /** Requisições simultâneas disparadas no setup para detectar o limite de taxa (acima da capacidade padrão de 100). */
+    private static final int SONDAGEM_LIMITE_TAXA = 150;
+
+    private HttpClient client;
+    private String token;
+    private long restauranteId;
+    private long pedidoId;
+
+    @Setup
+    public void setup() throws IOException, InterruptedException {
+        client = HttpClient.newBuilder()
+                .connectTimeout(Duration.ofSeconds(5))
+                .build();
+
+        String credenciais = "{\"email\":\"carga@deliverytech.com\",\"senha\":\"senha123\"}";
+        HttpResponse<String> registro = post("/api/auth/register",
+                "{\"email\":\"carga@deliverytech.com\",\"senha\":\"senha123\",\"nome\":\"Carga\",\"role\":\"ADMIN\"}");
+        token = registro.statusCode() == 200 ? registro.body() : post("/api/auth/login", credenciais).body();
+
+        restauranteId = extrairId(post("/api/restaurantes",
+                "{\"nome\":\"Restaurante Carga\",\"categoria\":\"Italiana\",\"endereco\":\"Rua da Carga, 1\","
+                        + "\"telefone\":\"11999999999\",\"taxaEntrega\":5.0,\"tempoEntrega\":30,\"horarioFuncionamento\":\"00:00-23:59\"}").body());
+        long clienteId = extrairId(post("/api/clientes",
+                "{\"nome\":\"Cliente Carga\",\"email\":\"cliente" + System.nanoTime() + "@carga.com\","
+                        + "\"telefone\":\"11999999999\",\"endereco\":\"Rua da Carga, 2\"}").body());
+        long produtoId = extrairId(post("/api/produtos",
+                "{\"restauranteId\":" + restauranteId + ",\"nome\":\"Pizza Carga\",\"descricao\":\"Pizza para o teste de carga\","
+                        + "\"categoria\":\"Pizza\",\"preco\":40.0}").body());
+        pedidoId = extrairId(post("/api/pedidos",
+                "{\"clienteId\":" + clienteId + ",\"restauranteId\":" + restauranteId + ",\"formaPagamento\":\"PIX\","
+                        + "\"enderecoEntrega\":{\"rua\":\"Rua A\",\"numero\":\"1\",\"bairro\":\"B\",\"cidade\":\"C\",\"estado\":\"SP\",\"cep\":\"01000-000\"},"
+                        + "\"itens\":[{\"produtoId\":" + produtoId + ",\"quantidade\":2}]}").body());
+
+        // Rajada simultânea acima da capacidade do balde: com o limite ligado parte dela volta 429
+        List<CompletableFuture<HttpResponse<Void>>> sondagem = new ArrayList<>();
+        for (int i = 0; i < SONDAGEM_LIMITE_TAXA; i++) {
+            sondagem.add(client.sendAsync(requisicaoGet("/api/pedidos/" + pedidoId), HttpResponse.BodyHandlers.discarding()));
+        }
+        if (sondagem.stream().map(CompletableFuture::join).anyMatch(r -> r.statusCode() == 429)) {
+            throw new IllegalStateException(
+                    "Limite de taxa ativo na API: suba a aplicação com --limite-taxa.habilitado=false");
+        }
+    }
+
+    /** Contadores por thread, reportados pelo JMH como métricas secundárias de cada benchmark. */
+    @State(Scope.Thread)
+    @AuxCounters(AuxCounters.Type.EVENTS)
+    public static class Respostas {
+        public long sucesso;
+        public long sobrecarga;
+        public long limitadas;
+        public long erros;
+
+        @Setup(Level.Iteration)
+        public void zerar() {
+            sucesso = 0;
+            sobrecarga = 0;
+            limitadas = 0;
+            erros = 0;
+        }
+
+        int contar(int status) {
+            if (status >= 200 && status < 300) {
+                sucesso++;
+            } else if (status == 503) {
+                sobrecarga++;
+            } else if (status == 429) {
+                limitadas++;
+            } else {
+                erros++;
+            }
+            return status;
+        }
+    }
+
+    @Benchmark
+    public int buscarPedido(Respostas respostas) throws IOException, InterruptedException {
+        return respostas.contar(get("/api/pedidos/" + pedidoId).statusCode());
+    }
+
+    @Benchmark
+    public int listarPedidosDoRestaurante(Respostas respostas) throws IOException, InterruptedException {
+        return respostas.contar(get("/api/pedidos/restaurante/" + restauranteId + "?tamanho=20").statusCode());
+    }
+
+    private HttpResponse<String> get(String caminho) throws IOException, InterruptedException {
+        return client.send(requisicaoGet(caminho), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private HttpRequest requisicaoGet(String caminho) {
+        return HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .header("Authorization", "Bearer " + token)
+                .GET()
+                .build();
+    }
+
+    private HttpResponse<String> post(String caminho, String corpo) throws IOException, InterruptedException {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(URI.create(baseUrl + caminho))
+                .header("Content-Type", JSON)
+                .POST(HttpRequest.BodyPublishers.ofString(corpo));
+        if (token != null) {
+            builder.header("Authorization", "Bearer " + token);
+        }
+        return client.send(builder.build(), HttpResponse.BodyHandlers.ofString());
+    }
+
+    private static long extrairId(String json) throws IOException {
+        return MAPPER.readTree(json).get("id").asLong();
+    }
+}
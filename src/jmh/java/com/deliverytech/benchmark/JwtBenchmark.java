@@ -0,0 +1,54 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.entity.Role;
+import com.deliverytech.entity.Usuario;
+import com.deliverytech.security.JwtUtil;
+import io.jsonwebtoken.Claims;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.security.core.userdetails.User;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Geração e validação de JWT no JwtUtil: parse completo (HMAC a cada chamada)
+ * x cache de claims já verificados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class JwtBenchmark {
+
+    private JwtUtil jwtSemCache;
+    private JwtUtil jwtComCache;
+    private UserDetails userDetails;
+    private Usuario usuario;
+    private String token;
+
+    @Setup
+    public void setup() {
+        jwtSemCache = new JwtUtil(0);
+        jwtComCache = new JwtUtil(10_000);
+        usuario = Usuario.builder().id(42L).email("usuario@email.com").senha("hash").nome("Usuário").role(Role.CLIENTE).build();
+        userDetails = User.withUsername(usuario.getEmail()).password(usuario.getSenha()).authorities("ROLE_CLIENTE").build();
+        token = jwtSemCache.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public String gerarToken() {
+        return jwtSemCache.generateToken(userDetails, usuario);
+    }
+
+    @Benchmark
+    public Claims validarTokenSemCache() {
+        return jwtSemCache.validarToken(token);
+    }
+
+    @Benchmark
+    public Claims validarTokenComCache() {
+        return jwtComCache.validarToken(token);
+    }
+}
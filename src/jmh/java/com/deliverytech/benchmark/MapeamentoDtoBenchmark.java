@@ -0,0 +1,49 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.dto.response.RestauranteResponse;
+import com.deliverytech.entity.Pedido;
+import com.deliverytech.entity.Produto;
+import com.deliverytech.entity.Restaurante;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Mapeamento entidade -> DTO usado pelos controllers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MapeamentoDtoBenchmark {
+
+    private Restaurante restaurante;
+    private Produto produto;
+    private Pedido pedido;
+
+    @Setup
+    public void setup() {
+        restaurante = BenchmarkDados.restaurante();
+        produto = BenchmarkDados.produto(1, restaurante);
+        pedido = BenchmarkDados.pedido(15);
+    }
+
+    @Benchmark
+    public RestauranteResponse restaurante() {
+        return RestauranteResponse.de(restaurante);
+    }
+
+    @Benchmark
+    public ProdutoResponse produto() {
+        return ProdutoResponse.de(produto);
+    }
+
+    @Benchmark
+    public PedidoResponse pedido() {
+        return PedidoResponse.de(pedido);
+    }
+}
@@ -0,0 +1,61 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.entity.StatusPedido;
+import com.deliverytech.service.MetricaLatencia;
+import com.deliverytech.service.MetricsService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Custo por chamada das métricas de pedidos: registro via builder a cada chamada
+ * (implementação anterior, reproduzida aqui como referência) x medidores pré-registrados.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MetricsServiceBenchmark {
+
+    private MeterRegistry registry;
+    private MetricsService metricsService;
+
+    @Setup
+    public void setup() {
+        registry = new SimpleMeterRegistry();
+        metricsService = new MetricsService(registry);
+    }
+
+    @Benchmark
+    public void contadorBuilderPorChamada() {
+        Counter.builder("pedidos_processados_total")
+                .description("Total de pedidos processados pelo sistema")
+                .tag("status", StatusPedido.CRIADO.name())
+                .register(registry)
+                .increment();
+    }
+
+    @Benchmark
+    public void contadorPreRegistrado() {
+        metricsService.incrementarPedidosProcessados(StatusPedido.CRIADO);
+    }
+
+    @Benchmark
+    public void timerBuilderPorChamada() {
+        Timer.builder("buscar_pedido_id" + "_latency_seconds")
+                .description("Mede a latência de operações críticas")
+                .register(registry)
+                .record(5, TimeUnit.MILLISECONDS);
+    }
+
+    @Benchmark
+    public void timerPreRegistrado() {
+        metricsService.registrarLatencia(MetricaLatencia.BUSCAR_PEDIDO_ID, 5);
+    }
+}
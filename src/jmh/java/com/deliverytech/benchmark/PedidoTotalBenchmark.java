@@ -0,0 +1,42 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.entity.ItemPedido;
+import com.deliverytech.entity.Pedido;
+import org.openjdk.jmh.annotations.*;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cálculo do total do pedido (ItemPedido.calcularSubtotal + Pedido.calcularTotal),
+ * como feito em PedidoController.criar, para carrinhos de tamanhos diferentes.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PedidoTotalBenchmark {
+
+    @Param({"1", "5", "15"})
+    private int quantidadeItens;
+
+    private Pedido pedido;
+
+    @Setup
+    public void setup() {
+        List<ItemPedido> itens = BenchmarkDados.itens(quantidadeItens, BenchmarkDados.restaurante());
+        pedido = Pedido.builder().itens(itens).build();
+    }
+
+    @Benchmark
+    public BigDecimal calcularTotal() {
+        for (ItemPedido item : pedido.getItens()) {
+            item.calcularSubtotal();
+        }
+        pedido.calcularTotal();
+        return pedido.getTotal();
+    }
+}
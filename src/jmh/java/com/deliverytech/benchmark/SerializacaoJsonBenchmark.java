@@ -0,0 +1,51 @@
+package com.deliverytech.benchmark;
+
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.dto.response.RestauranteResponse;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.openjdk.jmh.annotations.*;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialização Jackson dos DTOs de resposta, com um ObjectMapper configurado como o do Spring Boot.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class SerializacaoJsonBenchmark {
+
+    private ObjectMapper objectMapper;
+    private RestauranteResponse restaurante;
+    private ProdutoResponse produto;
+    private PedidoResponse pedido;
+
+    @Setup
+    public void setup() {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        restaurante = RestauranteResponse.de(BenchmarkDados.restaurante());
+        produto = ProdutoResponse.de(BenchmarkDados.produto(1, BenchmarkDados.restaurante()));
+        pedido = PedidoResponse.de(BenchmarkDados.pedido(15));
+    }
+
+    @Benchmark
+    public byte[] restaurante() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(restaurante);
+    }
+
+    @Benchmark
+    public byte[] produto() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(produto);
+    }
+
+    @Benchmark
+    public byte[] pedido() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(pedido);
+    }
+}
@@ -0,0 +1,47 @@
+package com.deliverytech.cache;
+
+import org.springframework.cache.Cache;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Leitura e gravação de várias chaves de um cache em uma única ida ao armazenamento
+ * (ex: MGET e pipeline no Redis), em vez de uma por chave.
+ */
+public interface CacheEmLote {
+
+    /**
+     * Valores encontrados, por chave; chaves ausentes do cache não aparecem no mapa.
+     */
+    Map<Object, Object> buscarTodos(Collection<?> chaves);
+
+    void colocarTodos(Map<?, ?> valores);
+
+    /**
+     * Usa a leitura em lote quando o cache oferece; caso contrário consulta chave a chave
+     * (caches em memória, onde cada get não custa um round trip).
+     */
+    static Map<Object, Object> buscarTodos(Cache cache, Collection<?> chaves) {
+        if (cache instanceof CacheEmLote emLote) {
+            return emLote.buscarTodos(chaves);
+        }
+        Map<Object, Object> encontrados = new HashMap<>(chaves.size() * 2);
+        for (Object chave : chaves) {
+            Cache.ValueWrapper valor = cache.get(chave);
+            if (valor != null) {
+                encontrados.put(chave, valor.get());
+            }
+        }
+        return encontrados;
+    }
+
+    static void colocarTodos(Cache cache, Map<?, ?> valores) {
+        if (cache instanceof CacheEmLote emLote) {
+            emLote.colocarTodos(valores);
+        } else {
+            valores.forEach(cache::put);
+        }
+    }
+}
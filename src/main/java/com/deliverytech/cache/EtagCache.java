@@ -0,0 +1,107 @@
+package com.deliverytech.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.context.request.WebRequest;
+
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * ETags de leitura derivados da versão (@Version) das entidades, guardados no cache "etags".
+ *
+ * Com o ETag já conhecido, um If-None-Match igual responde 304 antes de chamar o service:
+ * sem consulta ao banco e sem serializar o corpo. Os services invalidam a chave ao gravar (depois
+ * do commit); no perfil docker o cache é o L1 + Redis, então a invalidação chega a todos os nós.
+ *
+ * Uma leitura concorrente com a gravação pode guardar o ETag antigo depois da invalidação, neste ou
+ * em outro nó (ex: a entidade veio do cache "produtos" ainda não limpo). Por isso, depois de guardar,
+ * o ETag é conferido com o recalculado direto do banco e removido se já não for o atual.
+ */
+@Component
+public class EtagCache {
+
+    public static final String CACHE_ETAGS = "etags";
+
+    // Recursos com leitura condicional
+    public static final String RESTAURANTE = "restaurante";
+    public static final String PRODUTO = "produto";
+    public static final String CLIENTE = "cliente";
+    public static final String RESTAURANTES_TODOS = chave(RESTAURANTE, "todos");
+
+    private final CacheManager cacheManager;
+
+    public EtagCache(CacheManager cacheManager) {
+        this.cacheManager = cacheManager;
+    }
+
+    public static String chave(String recurso, Object id) {
+        return recurso + ":" + id;
+    }
+
+    public static String etagDaVersao(String chave, Long versao) {
+        return chave.replace(':', '-') + "-v" + (versao != null ? versao : 0);
+    }
+
+    /**
+     * Responde a um GET condicional: 304 direto do cache quando possível; caso contrário carrega
+     * a entidade, guarda o ETag dela e monta o corpo (ou 304, se o cliente já tinha esta versão).
+     *
+     * @param etagNoBanco ETag atual calculado sem cache (ex: só a coluna versao), usado para conferir o guardado
+     */
+    public <E, R> ResponseEntity<R> responder(WebRequest webRequest, String chave, Supplier<E> carregar,
+                                              Function<E, String> etagDe, Supplier<String> etagNoBanco,
+                                              Function<E, R> corpo) {
+        Cache cache = cacheManager.getCache(CACHE_ETAGS);
+        String conhecido = cache != null ? cache.get(chave, String.class) : null;
+        if (conhecido != null && webRequest.checkNotModified(conhecido)) {
+            return null;
+        }
+
+        E entidade = carregar.get();
+        String etag = etagDe.apply(entidade);
+        if (cache != null) {
+            cache.put(chave, etag);
+            // Se a gravação terminou antes deste put, o banco já tem outra versão: a invalidação
+            // pode ter passado antes e este ETag ficaria guardado
+            if (!etag.equals(etagNoBanco.get())) {
+                cache.evict(chave);
+            }
+        }
+        if (webRequest.checkNotModified(etag)) {
+            return null;
+        }
+        return ResponseEntity.ok().eTag(etag).body(corpo.apply(entidade));
+    }
+
+    /**
+     * Remove o ETag guardado. Dentro de uma transação, só depois do commit: antes dele uma leitura
+     * ainda veria a versão antiga no banco e guardaria o ETag dela de novo. Usa afterCompletion
+     * porque o Spring não dispara afterCommit registrados por outro afterCommit.
+     */
+    public void invalidar(String chave) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        remover(chave);
+                    }
+                }
+            });
+        } else {
+            remover(chave);
+        }
+    }
+
+    private void remover(String chave) {
+        Cache cache = cacheManager.getCache(CACHE_ETAGS);
+        if (cache != null) {
+            cache.evict(chave);
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package com.deliverytech.cache;
+
+/**
+ * Mensagem de invalidação do cache L1.
+ * Uma chave nula significa "limpar o cache inteiro".
+ *
+ * @param origem ID do nó que publicou a mensagem (o próprio nó ignora as suas)
+ * @param cache  nome do cache afetado (ex: "produtos")
+ * @param chave  chave invalidada, já convertida para String
+ */
+public record InvalidacaoCache(String origem, String cache, String chave) {
+
+    private static final String SEPARADOR = "|";
+    private static final String TODAS = "*";
+
+    public boolean isLimpezaTotal() {
+        return chave == null;
+    }
+
+    public String serializar() {
+        return origem + SEPARADOR + cache + SEPARADOR + (chave != null ? chave : TODAS);
+    }
+
+    public static InvalidacaoCache desserializar(String mensagem) {
+        String[] partes = mensagem.split("\\|", 3);
+        if (partes.length != 3) {
+            throw new IllegalArgumentException("Mensagem de invalidação inválida: " + mensagem);
+        }
+        return new InvalidacaoCache(partes[0], partes[1], TODAS.equals(partes[2]) ? null : partes[2]);
+    }
+}
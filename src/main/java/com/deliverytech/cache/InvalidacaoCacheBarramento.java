@@ -0,0 +1,14 @@
+package com.deliverytech.cache;
+
+import java.util.function.Consumer;
+
+/**
+ * Canal por onde os nós da aplicação avisam uns aos outros que uma entrada do cache L1 ficou obsoleta.
+ * Em produção é implementado com pub/sub do Redis; em testes ou em um único nó, em memória.
+ */
+public interface InvalidacaoCacheBarramento {
+
+    void publicar(InvalidacaoCache invalidacao);
+
+    void inscrever(Consumer<InvalidacaoCache> ouvinte);
+}
@@ -0,0 +1,25 @@
+package com.deliverytech.cache;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.Consumer;
+
+/**
+ * Barramento em memória: entrega as invalidações de forma síncrona a todos os inscritos.
+ * Permite testar vários MultiNivelCacheManager no mesmo processo simulando nós diferentes,
+ * sem precisar de um Redis real.
+ */
+public class LocalInvalidacaoCacheBarramento implements InvalidacaoCacheBarramento {
+
+    private final List<Consumer<InvalidacaoCache>> ouvintes = new CopyOnWriteArrayList<>();
+
+    @Override
+    public void publicar(InvalidacaoCache invalidacao) {
+        ouvintes.forEach(ouvinte -> ouvinte.accept(invalidacao));
+    }
+
+    @Override
+    public void inscrever(Consumer<InvalidacaoCache> ouvinte) {
+        ouvintes.add(ouvinte);
+    }
+}
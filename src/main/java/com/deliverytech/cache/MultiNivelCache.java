@@ -0,0 +1,170 @@
+package com.deliverytech.cache;
+
+import org.springframework.cache.Cache;
+import org.springframework.cache.support.SimpleValueWrapper;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+
+/**
+ * Cache em dois níveis: um L1 em memória (por nó, limitado em tamanho e TTL) na frente
+ * de um L2 compartilhado (Redis). Leituras tentam o L1 primeiro; escritas e remoções vão
+ * para os dois níveis. Só as remoções (evict/clear) são anunciadas no barramento para que os
+ * outros nós limpem seus L1: um put é o preenchimento de um miss com o valor lido do banco,
+ * e anunciá-lo faria os nós apagarem o L1 uns dos outros a cada carga.
+ */
+public class MultiNivelCache implements Cache, CacheEmLote {
+
+    private final String nome;
+    private final com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> l1;
+    private final Cache l2;
+    // Leitura/gravação em lote no L2 (MGET no Redis); nulo quando o L2 não oferece
+    private final CacheEmLote l2EmLote;
+    private final InvalidacaoCacheBarramento barramento;
+    private final String idNo;
+
+    public MultiNivelCache(String nome,
+                           com.github.benmanes.caffeine.cache.Cache<String, ValueWrapper> l1,
+                           Cache l2,
+                           CacheEmLote l2EmLote,
+                           InvalidacaoCacheBarramento barramento,
+                           String idNo) {
+        this.nome = nome;
+        this.l1 = l1;
+        this.l2 = l2;
+        this.l2EmLote = l2EmLote;
+        this.barramento = barramento;
+        this.idNo = idNo;
+    }
+
+    @Override
+    public String getName() {
+        return nome;
+    }
+
+    @Override
+    public Object getNativeCache() {
+        return this;
+    }
+
+    @Override
+    public ValueWrapper get(Object key) {
+        String chave = chaveL1(key);
+        ValueWrapper valor = l1.getIfPresent(chave);
+        if (valor != null) {
+            return valor;
+        }
+        valor = l2.get(key);
+        if (valor != null) {
+            l1.put(chave, valor);
+        }
+        return valor;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Class<T> type) {
+        ValueWrapper valor = get(key);
+        Object conteudo = (valor != null) ? valor.get() : null;
+        if (conteudo != null && type != null && !type.isInstance(conteudo)) {
+            throw new IllegalStateException("Valor em cache não é do tipo " + type.getName() + ": " + conteudo);
+        }
+        return (T) conteudo;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public <T> T get(Object key, Callable<T> valueLoader) {
+        ValueWrapper valor = get(key);
+        if (valor != null) {
+            return (T) valor.get();
+        }
+        // O L2 coordena o carregamento; o resultado passa a valer também no L1 deste nó
+        T carregado = l2.get(key, valueLoader);
+        l1.put(chaveL1(key), new SimpleValueWrapper(carregado));
+        return carregado;
+    }
+
+    @Override
+    public void put(Object key, Object value) {
+        l2.put(key, value);
+        l1.put(chaveL1(key), new SimpleValueWrapper(value));
+    }
+
+    /**
+     * Multi-get: as chaves presentes no L1 não saem do nó; as demais vão ao L2 em uma única
+     * operação e os valores encontrados passam a valer também no L1.
+     */
+    @Override
+    public Map<Object, Object> buscarTodos(Collection<?> chaves) {
+        Map<Object, Object> encontrados = new HashMap<>(chaves.size() * 2);
+        List<Object> ausentesL1 = new ArrayList<>();
+        for (Object chave : chaves) {
+            ValueWrapper valor = l1.getIfPresent(chaveL1(chave));
+            if (valor != null) {
+                encontrados.put(chave, valor.get());
+            } else {
+                ausentesL1.add(chave);
+            }
+        }
+        if (!ausentesL1.isEmpty()) {
+            Map<Object, Object> doL2 = l2EmLote != null
+                    ? l2EmLote.buscarTodos(ausentesL1)
+                    : CacheEmLote.buscarTodos(l2, ausentesL1);
+            doL2.forEach((chave, valor) -> {
+                l1.put(chaveL1(chave), new SimpleValueWrapper(valor));
+                encontrados.put(chave, valor);
+            });
+        }
+        return encontrados;
+    }
+
+    @Override
+    public void colocarTodos(Map<?, ?> valores) {
+        if (l2EmLote != null) {
+            l2EmLote.colocarTodos(valores);
+        } else {
+            valores.forEach(l2::put);
+        }
+        valores.forEach((chave, valor) -> l1.put(chaveL1(chave), new SimpleValueWrapper(valor)));
+    }
+
+    @Override
+    public void evict(Object key) {
+        l2.evict(key);
+        l1.invalidate(chaveL1(key));
+        publicar(key);
+    }
+
+    @Override
+    public void clear() {
+        l2.clear();
+        l1.invalidateAll();
+        barramento.publicar(new InvalidacaoCache(idNo, nome, null));
+    }
+
+    /**
+     * Aplica uma invalidação recebida de outro nó: só o L1 local é afetado,
+     * pois o L2 compartilhado já foi atualizado por quem publicou.
+     */
+    void aplicarInvalidacao(InvalidacaoCache invalidacao) {
+        if (invalidacao.isLimpezaTotal()) {
+            l1.invalidateAll();
+        } else {
+            l1.invalidate(invalidacao.chave());
+        }
+    }
+
+    private void publicar(Object key) {
+        barramento.publicar(new InvalidacaoCache(idNo, nome, chaveL1(key)));
+    }
+
+    // As chaves trafegam como texto no barramento, então o L1 também as guarda como texto
+    private static String chaveL1(Object key) {
+        return String.valueOf(key);
+    }
+}
@@ -0,0 +1,86 @@
+package com.deliverytech.cache;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * CacheManager que combina um L1 Caffeine por nó com os caches de outro CacheManager (L2).
+ * Cada instância tem um ID próprio, usado para ignorar as invalidações que ela mesma publicou.
+ */
+public class MultiNivelCacheManager implements CacheManager {
+
+    private final CacheManager l2CacheManager;
+    private final InvalidacaoCacheBarramento barramento;
+    private final long l1TamanhoMaximo;
+    private final Duration l1Ttl;
+    // Quando presente, caches L2 do Redis ganham leitura em lote (MGET)
+    private final RedisConnectionFactory redisConnectionFactory;
+    private final String idNo = UUID.randomUUID().toString();
+    private final ConcurrentMap<String, MultiNivelCache> caches = new ConcurrentHashMap<>();
+
+    public MultiNivelCacheManager(CacheManager l2CacheManager, InvalidacaoCacheBarramento barramento,
+                                  long l1TamanhoMaximo, Duration l1Ttl) {
+        this(l2CacheManager, barramento, l1TamanhoMaximo, l1Ttl, null);
+    }
+
+    public MultiNivelCacheManager(CacheManager l2CacheManager, InvalidacaoCacheBarramento barramento,
+                                  long l1TamanhoMaximo, Duration l1Ttl, RedisConnectionFactory redisConnectionFactory) {
+        this.redisConnectionFactory = redisConnectionFactory;
+        this.l2CacheManager = l2CacheManager;
+        this.barramento = barramento;
+        this.l1TamanhoMaximo = l1TamanhoMaximo;
+        this.l1Ttl = l1Ttl;
+        barramento.inscrever(this::receberInvalidacao);
+    }
+
+    @Override
+    public Cache getCache(String name) {
+        return caches.computeIfAbsent(name, this::criarCache);
+    }
+
+    @Override
+    public Collection<String> getCacheNames() {
+        return Collections.unmodifiableSet(caches.keySet());
+    }
+
+    public String getIdNo() {
+        return idNo;
+    }
+
+    private MultiNivelCache criarCache(String nome) {
+        Cache l2 = l2CacheManager.getCache(nome);
+        if (l2 == null) {
+            throw new IllegalStateException("Cache L2 não encontrado: " + nome);
+        }
+        return new MultiNivelCache(nome,
+                Caffeine.newBuilder()
+                        .maximumSize(l1TamanhoMaximo)
+                        .expireAfterWrite(l1Ttl)
+                        .build(),
+                l2,
+                redisConnectionFactory != null && l2 instanceof RedisCache redis
+                        ? new RedisCacheEmLote(redisConnectionFactory, redis)
+                        : null,
+                barramento, idNo);
+    }
+
+    private void receberInvalidacao(InvalidacaoCache invalidacao) {
+        if (idNo.equals(invalidacao.origem())) {
+            return;
+        }
+        MultiNivelCache cache = caches.get(invalidacao.cache());
+        if (cache != null) {
+            cache.aplicarInvalidacao(invalidacao);
+        }
+    }
+}
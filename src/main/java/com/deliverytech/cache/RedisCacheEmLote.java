@@ -0,0 +1,92 @@
+package com.deliverytech.cache;
+
+import org.springframework.cache.support.NullValue;
+import org.springframework.data.redis.cache.RedisCache;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisStringCommands.SetOption;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.util.ByteUtils;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Operações em lote sobre as chaves de um RedisCache: um MGET para ler e um pipeline de SETs
+ * (com o TTL do cache) para gravar. Chaves e valores seguem a mesma configuração do RedisCache
+ * (prefixo "nome::", serializadores), então são as mesmas entradas lidas e gravadas por ele.
+ */
+public class RedisCacheEmLote implements CacheEmLote {
+
+    private final RedisConnectionFactory connectionFactory;
+    private final String nome;
+    private final RedisCacheConfiguration configuracao;
+
+    public RedisCacheEmLote(RedisConnectionFactory connectionFactory, RedisCache cache) {
+        this.connectionFactory = connectionFactory;
+        this.nome = cache.getName();
+        this.configuracao = cache.getCacheConfiguration();
+    }
+
+    @Override
+    public Map<Object, Object> buscarTodos(Collection<?> chaves) {
+        Map<Object, Object> encontrados = new HashMap<>(chaves.size() * 2);
+        if (chaves.isEmpty()) {
+            return encontrados;
+        }
+        List<Object> ordem = new ArrayList<>(chaves);
+        byte[][] chavesRedis = new byte[ordem.size()][];
+        for (int i = 0; i < ordem.size(); i++) {
+            chavesRedis[i] = chaveRedis(ordem.get(i));
+        }
+        List<byte[]> valores;
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            valores = conexao.stringCommands().mGet(chavesRedis);
+        }
+        if (valores == null) {
+            return encontrados;
+        }
+        for (int i = 0; i < ordem.size(); i++) {
+            byte[] valor = valores.get(i);
+            if (valor != null) {
+                Object conteudo = configuracao.getValueSerializationPair().read(ByteBuffer.wrap(valor));
+                encontrados.put(ordem.get(i), conteudo instanceof NullValue ? null : conteudo);
+            }
+        }
+        return encontrados;
+    }
+
+    @Override
+    public void colocarTodos(Map<?, ?> valores) {
+        if (valores.isEmpty()) {
+            return;
+        }
+        try (RedisConnection conexao = connectionFactory.getConnection()) {
+            conexao.openPipeline();
+            valores.forEach((chave, valor) -> {
+                Object armazenado = valor != null ? valor : NullValue.INSTANCE;
+                byte[] bytes = ByteUtils.getBytes(configuracao.getValueSerializationPair().write(armazenado));
+                Duration ttl = configuracao.getTtlFunction().getTimeToLive(chave, valor);
+                conexao.stringCommands().set(chaveRedis(chave), bytes,
+                        ttl != null && !ttl.isZero() && !ttl.isNegative() ? Expiration.from(ttl) : Expiration.persistent(),
+                        SetOption.upsert());
+            });
+            conexao.closePipeline();
+        }
+    }
+
+    // Mesma regra do RedisCache.createCacheKey: prefixo do cache + chave convertida para String
+    private byte[] chaveRedis(Object chave) {
+        String convertida = configuracao.getConversionService().canConvert(chave.getClass(), String.class)
+                ? configuracao.getConversionService().convert(chave, String.class)
+                : String.valueOf(chave);
+        String completa = configuracao.usePrefix() ? configuracao.getKeyPrefixFor(nome) + convertida : convertida;
+        return ByteUtils.getBytes(configuracao.getKeySerializationPair().write(completa));
+    }
+}
@@ -0,0 +1,51 @@
+package com.deliverytech.cache;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+import java.util.function.Consumer;
+
+/**
+ * Barramento de invalidação sobre o pub/sub do Redis: cada nó publica as chaves que alterou
+ * e todos os nós inscritos no canal removem essas chaves dos seus caches L1.
+ */
+@Slf4j
+public class RedisInvalidacaoCacheBarramento implements InvalidacaoCacheBarramento {
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisMessageListenerContainer container;
+    private final ChannelTopic canal;
+
+    public RedisInvalidacaoCacheBarramento(StringRedisTemplate redisTemplate,
+                                           RedisMessageListenerContainer container,
+                                           String canal) {
+        this.redisTemplate = redisTemplate;
+        this.container = container;
+        this.canal = new ChannelTopic(canal);
+    }
+
+    @Override
+    public void publicar(InvalidacaoCache invalidacao) {
+        try {
+            redisTemplate.convertAndSend(canal.getTopic(), invalidacao.serializar());
+        } catch (RuntimeException e) {
+            // Os outros nós ainda expiram a entrada pelo TTL do L1; não derrubamos a escrita por isso
+            log.warn("Falha ao publicar invalidação de cache {}: {}", invalidacao, e.getMessage());
+        }
+    }
+
+    @Override
+    public void inscrever(Consumer<InvalidacaoCache> ouvinte) {
+        container.addMessageListener((mensagem, padrao) -> {
+            String corpo = new String(mensagem.getBody(), StandardCharsets.UTF_8);
+            try {
+                ouvinte.accept(InvalidacaoCache.desserializar(corpo));
+            } catch (IllegalArgumentException e) {
+                log.warn("Mensagem de invalidação ignorada: {}", corpo);
+            }
+        }, canal);
+    }
+}
@@ -0,0 +1,87 @@
+package com.deliverytech.config;
+
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.DependsOn;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.DatabaseMetaData;
+import java.sql.ResultSet;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ajustes de dados que o ddl-auto=update não faz em um banco que já existia antes das mudanças de
+ * mapeamento. Roda depois do Hibernate atualizar o esquema e antes do servidor aceitar requisições.
+ *
+ * Sequências: no MySQL o Hibernate emula cada sequência com uma tabela (ex: pedidos_seq) que nasce
+ * com next_val = 1, e os primeiros INSERTs colidiriam com os ids já gravados por IDENTITY. Aqui o
+ * next_val passa a ficar depois do maior id da tabela.
+ *
+ * Versões: bancos que receberam a coluna versao quando ela ainda era anulável ficaram com NULL nas
+ * linhas antigas. Para o Spring Data, versão nula significa entidade nova, e o save() dessas linhas
+ * tentaria um persist. Elas passam a ter versão 0.
+ */
+@Slf4j
+@Component
+@DependsOn("entityManagerFactory")
+@ConditionalOnProperty(prefix = "esquema.ajuste-legado", name = "habilitado", havingValue = "true")
+@RequiredArgsConstructor
+public class AjusteEsquemaLegado {
+
+    // Igual ao allocationSize dos @SequenceGenerator das entidades
+    private static final int ALOCACAO = 50;
+
+    // Tabela da sequência -> tabela da entidade
+    private static final Map<String, String> SEQUENCIAS = Map.of(
+            "clientes_seq", "clientes",
+            "restaurantes_seq", "restaurantes",
+            "produtos_seq", "produtos",
+            "pedidos_seq", "pedidos",
+            "itens_pedido_seq", "itens_pedido");
+
+    // Tabelas com @Version
+    private static final List<String> VERSIONADAS = List.of("clientes", "restaurantes", "produtos", "pedidos");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @PostConstruct
+    public void ajustar() {
+        SEQUENCIAS.forEach(this::ajustarSequencia);
+        VERSIONADAS.forEach(this::preencherVersao);
+    }
+
+    private void ajustarSequencia(String sequencia, String tabela) {
+        if (!tabelaExiste(sequencia)) {
+            // Banco com sequência nativa (ex: H2): não há tabela a ajustar
+            log.debug("Sequência {} não é emulada por tabela, nada a ajustar", sequencia);
+            return;
+        }
+        // O otimizador pooled trata o valor lido como o fim do bloco (ids de next_val - 49 a next_val),
+        // por isso o next_val fica ALOCACAO acima do maior id. GREATEST preserva o que outro nó já reservou.
+        int linhas = jdbcTemplate.update("UPDATE " + sequencia
+                + " SET next_val = GREATEST(next_val, (SELECT COALESCE(MAX(id), 0) + ? FROM " + tabela + "))", ALOCACAO);
+        log.info("Sequência {} ajustada ao maior id de {} ({} linha(s))", sequencia, tabela, linhas);
+    }
+
+    private void preencherVersao(String tabela) {
+        int linhas = jdbcTemplate.update("UPDATE " + tabela + " SET versao = 0 WHERE versao IS NULL");
+        if (linhas > 0) {
+            log.info("Versão 0 atribuída a {} linha(s) de {}", linhas, tabela);
+        }
+    }
+
+    private boolean tabelaExiste(String nome) {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) conexao -> {
+            DatabaseMetaData metaData = conexao.getMetaData();
+            String padrao = metaData.storesUpperCaseIdentifiers() ? nome.toUpperCase() : nome;
+            try (ResultSet tabelas = metaData.getTables(conexao.getCatalog(), null, padrao, new String[]{"TABLE"})) {
+                return tabelas.next();
+            }
+        }));
+    }
+}
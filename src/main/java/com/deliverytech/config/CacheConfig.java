@@ -0,0 +1,70 @@
+package com.deliverytech.config;
+
+import com.deliverytech.cache.InvalidacaoCacheBarramento;
+import com.deliverytech.cache.MultiNivelCacheManager;
+import com.deliverytech.cache.RedisInvalidacaoCacheBarramento;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.cache.RedisCacheConfiguration;
+import org.springframework.data.redis.cache.RedisCacheManager;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.data.redis.serializer.GenericJackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+
+import java.time.Duration;
+
+/**
+ * Cache em dois níveis (ativado com cache.multinivel.habilitado=true, ex: perfil docker):
+ * L1 Caffeine em cada nó na frente do Redis (L2), com invalidação entre nós via pub/sub.
+ * Quando desativado, vale a configuração automática do Spring Boot (spring.cache.type).
+ */
+@Configuration
+@ConditionalOnProperty(prefix = "cache.multinivel", name = "habilitado", havingValue = "true")
+public class CacheConfig {
+
+    @Value("${cache.multinivel.l1.tamanho-maximo:10000}")
+    private long l1TamanhoMaximo;
+
+    @Value("${cache.multinivel.l1.ttl-segundos:60}")
+    private long l1TtlSegundos;
+
+    @Value("${cache.multinivel.l2.ttl-minutos:30}")
+    private long l2TtlMinutos;
+
+    @Value("${cache.multinivel.canal-invalidacao:deliverytech:cache:invalidacao}")
+    private String canalInvalidacao;
+
+    @Bean
+    public RedisMessageListenerContainer cacheInvalidacaoListenerContainer(RedisConnectionFactory connectionFactory) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(connectionFactory);
+        return container;
+    }
+
+    @Bean
+    public InvalidacaoCacheBarramento invalidacaoCacheBarramento(StringRedisTemplate redisTemplate,
+                                                                 RedisMessageListenerContainer cacheInvalidacaoListenerContainer) {
+        return new RedisInvalidacaoCacheBarramento(redisTemplate, cacheInvalidacaoListenerContainer, canalInvalidacao);
+    }
+
+    @Bean
+    public CacheManager cacheManager(RedisConnectionFactory connectionFactory, InvalidacaoCacheBarramento barramento) {
+        // JSON no Redis: as entidades não precisam ser Serializable e o conteúdo fica legível
+        RedisCacheConfiguration l2Config = RedisCacheConfiguration.defaultCacheConfig()
+                .entryTtl(Duration.ofMinutes(l2TtlMinutos))
+                .serializeValuesWith(RedisSerializationContext.SerializationPair
+                        .fromSerializer(new GenericJackson2JsonRedisSerializer()));
+        RedisCacheManager l2 = RedisCacheManager.builder(connectionFactory)
+                .cacheDefaults(l2Config)
+                .build();
+        l2.afterPropertiesSet();
+
+        return new MultiNivelCacheManager(l2, barramento, l1TamanhoMaximo, Duration.ofSeconds(l1TtlSegundos),
+                connectionFactory);
+    }
+}
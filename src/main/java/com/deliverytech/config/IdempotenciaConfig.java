@@ -0,0 +1,43 @@
+package com.deliverytech.config;
+
+import com.deliverytech.idempotencia.ArmazenamentoIdempotencia;
+import com.deliverytech.idempotencia.LocalArmazenamentoIdempotencia;
+import com.deliverytech.idempotencia.RedisArmazenamentoIdempotencia;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+
+/**
+ * Armazenamento das Idempotency-Keys: em memória por padrão (idempotencia.armazenamento=memoria)
+ * ou no Redis (idempotencia.armazenamento=redis, ex: perfil docker), compartilhado entre os nós.
+ */
+@Configuration
+public class IdempotenciaConfig {
+
+    @Value("${idempotencia.ttl-horas:24}")
+    private long ttlHoras;
+
+    @Value("${idempotencia.ttl-em-andamento-segundos:60}")
+    private long ttlEmAndamentoSegundos;
+
+    @Bean
+    @ConditionalOnProperty(prefix = "idempotencia", name = "armazenamento", havingValue = "memoria", matchIfMissing = true)
+    public ArmazenamentoIdempotencia localArmazenamentoIdempotencia(
+            @Value("${idempotencia.tamanho-maximo:100000}") long tamanhoMaximo) {
+        return new LocalArmazenamentoIdempotencia(tamanhoMaximo,
+                Duration.ofHours(ttlHoras), Duration.ofSeconds(ttlEmAndamentoSegundos));
+    }
+
+    @Bean
+    @ConditionalOnProperty(prefix = "idempotencia", name = "armazenamento", havingValue = "redis")
+    public ArmazenamentoIdempotencia redisArmazenamentoIdempotencia(StringRedisTemplate redisTemplate,
+                                                                    ObjectMapper objectMapper) {
+        return new RedisArmazenamentoIdempotencia(redisTemplate, objectMapper, "deliverytech:idempotencia:",
+                Duration.ofHours(ttlHoras), Duration.ofSeconds(ttlEmAndamentoSegundos));
+    }
+}
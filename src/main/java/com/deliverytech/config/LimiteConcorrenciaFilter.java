@@ -0,0 +1,80 @@
+package com.deliverytech.config;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limita quantas requisições da API executam ao mesmo tempo (bulkhead com semáforo).
+ *
+ * Com threads virtuais o Tomcat deixa de ter o teto natural de 200 threads, e cada requisição
+ * bloqueada no JDBC passaria a esperar na fila do pool de conexões. Aqui o excesso espera no
+ * máximo "espera-ms" por uma vaga e, sem vaga, recebe 503 com Retry-After em vez de acumular
+ * milhares de threads aguardando conexão até estourar o timeout do Hikari.
+ */
+@Component
+@ConditionalOnProperty(prefix = "concorrencia.limite", name = "habilitado", havingValue = "true")
+public class LimiteConcorrenciaFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO_API = "/api/";
+
+    private final Semaphore vagas;
+    private final long esperaMs;
+    private final Counter rejeitadas;
+
+    public LimiteConcorrenciaFilter(@Value("${concorrencia.limite.max-requisicoes:100}") int maxRequisicoes,
+                                    @Value("${concorrencia.limite.espera-ms:500}") long esperaMs,
+                                    MeterRegistry meterRegistry) {
+        this.vagas = new Semaphore(maxRequisicoes, true);
+        this.esperaMs = esperaMs;
+        this.rejeitadas = Counter.builder("concorrencia_requisicoes_rejeitadas_total")
+                .description("Requisições recusadas por falta de vaga no limite de concorrência")
+                .register(meterRegistry);
+        Gauge.builder("concorrencia_requisicoes_em_execucao", vagas, s -> maxRequisicoes - s.availablePermits())
+                .description("Requisições da API executando neste momento")
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !request.getRequestURI().startsWith(PREFIXO_API);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean adquiriu;
+        try {
+            adquiriu = vagas.tryAcquire(esperaMs, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            adquiriu = false;
+        }
+
+        if (!adquiriu) {
+            rejeitadas.increment();
+            response.setStatus(HttpStatus.SERVICE_UNAVAILABLE.value());
+            response.setHeader("Retry-After", "1");
+            return;
+        }
+
+        try {
+            filterChain.doFilter(request, response);
+        } finally {
+            vagas.release();
+        }
+    }
+}
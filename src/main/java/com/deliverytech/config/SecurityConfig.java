@@ -1,7 +1,10 @@
 package com.deliverytech.config;
 
 import com.deliverytech.security.JwtAuthenticationFilter;
+import com.deliverytech.security.LimiteTaxaFilter;
+import com.deliverytech.system.monitoring.RegistroRequisicaoFilter;
 import lombok.RequiredArgsConstructor;
+import org.springframework.boot.web.servlet.FilterRegistrationBean;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.security.authentication.AuthenticationManager;
@@ -23,6 +26,8 @@ public class SecurityConfig {
 
     private final JwtAuthenticationFilter jwtAuthFilter;
     private final UserDetailsService userDetailsService;
+    private final LimiteTaxaFilter limiteTaxaFilter;
+    private final RegistroRequisicaoFilter registroRequisicaoFilter;
 
     // ✅ Define os caminhos que serão públicos (não exigirão autenticação)
     private static final String[] WHITE_LIST_URLS = {
@@ -59,9 +64,29 @@ public class SecurityConfig {
                 .headers(headers -> headers.frameOptions(frame -> frame.disable()))
                 .authenticationProvider(authenticationProvider())
                 .addFilterBefore(jwtAuthFilter, UsernamePasswordAuthenticationFilter.class)
+                // Antes do JWT, para medir a requisição inteira e ainda ver o usuário no final
+                .addFilterBefore(registroRequisicaoFilter, JwtAuthenticationFilter.class)
+                // Depois do JWT, para contar as requisições autenticadas pelo userId do token
+                .addFilterAfter(limiteTaxaFilter, JwtAuthenticationFilter.class)
                 .build();
     }
 
+    // O limite de taxa roda só dentro da cadeia de segurança: registrado também como filtro do
+    // servlet, rodaria antes da autenticação e contaria todas as requisições pelo IP
+    @Bean
+    public FilterRegistrationBean<LimiteTaxaFilter> limiteTaxaFilterRegistration() {
+        FilterRegistrationBean<LimiteTaxaFilter> registro = new FilterRegistrationBean<>(limiteTaxaFilter);
+        registro.setEnabled(false);
+        return registro;
+    }
+
+    @Bean
+    public FilterRegistrationBean<RegistroRequisicaoFilter> registroRequisicaoFilterRegistration() {
+        FilterRegistrationBean<RegistroRequisicaoFilter> registro = new FilterRegistrationBean<>(registroRequisicaoFilter);
+        registro.setEnabled(false);
+        return registro;
+    }
+
     @Bean
     public AuthenticationManager authenticationManager(AuthenticationConfiguration configuration) throws Exception {
         return configuration.getAuthenticationManager();
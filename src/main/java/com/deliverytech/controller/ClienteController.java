@@ -1,5 +1,6 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.cache.EtagCache;
 import com.deliverytech.dto.request.ClienteRequest;
 import com.deliverytech.dto.response.ClienteResponse;
 import com.deliverytech.entity.Cliente;
@@ -8,6 +9,7 @@ import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import java.util.List;
 import java.util.stream.Collectors;
@@ -18,6 +20,7 @@ import java.util.stream.Collectors;
 public class ClienteController {
 
     private final ClienteService clienteService;
+    private final EtagCache etagCache;
 
     @PostMapping
     public ResponseEntity<ClienteResponse> cadastrar(@Valid @RequestBody ClienteRequest request) {
@@ -40,12 +43,16 @@ public class ClienteController {
                 .collect(Collectors.toList());
     }
 
+    // GET condicional: If-None-Match com o ETag atual responde 304 sem chamar o service
     @GetMapping("/{id}")
-    public ResponseEntity<ClienteResponse> buscar(@PathVariable Long id) {
-        // CORREÇÃO FINAL AQUI: Chamada direta, sem .map()
-        Cliente cliente = clienteService.buscarPorId(id);
-        ClienteResponse response = new ClienteResponse(cliente.getId(), cliente.getNome(), cliente.getEmail(), cliente.getTelefone(), cliente.getEndereco(), cliente.isAtivo());
-        return ResponseEntity.ok(response);
+    public ResponseEntity<ClienteResponse> buscar(@PathVariable Long id, WebRequest webRequest) {
+        String chave = EtagCache.chave(EtagCache.CLIENTE, id);
+        return etagCache.responder(webRequest, chave,
+                // CORREÇÃO FINAL AQUI: Chamada direta, sem .map()
+                () -> clienteService.buscarPorId(id),
+                cliente -> EtagCache.etagDaVersao(chave, cliente.getVersao()),
+                () -> EtagCache.etagDaVersao(chave, clienteService.buscarVersao(id)),
+                cliente -> new ClienteResponse(cliente.getId(), cliente.getNome(), cliente.getEmail(), cliente.getTelefone(), cliente.getEndereco(), cliente.isAtivo()));
     }
 
     @PutMapping("/{id}")
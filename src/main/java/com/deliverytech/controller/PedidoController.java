@@ -1,21 +1,42 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.dto.request.PedidoCursor;
+import com.deliverytech.dto.request.PedidoFiltroRequest;
 import com.deliverytech.dto.request.PedidoRequest;
-import com.deliverytech.dto.response.ItemPedidoResponse;
+import com.deliverytech.dto.response.IngestaoPedidoResponse;
+import com.deliverytech.dto.response.PedidoPageResponse;
 import com.deliverytech.dto.response.PedidoResponse;
 import com.deliverytech.entity.*;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.security.UsuarioPrincipal;
 import com.deliverytech.service.ClienteService;
+import com.deliverytech.service.IdempotenciaService;
+import com.deliverytech.service.PedidoExportacaoService;
+import com.deliverytech.service.PedidoIngestaoService;
 import com.deliverytech.service.PedidoService;
+import com.deliverytech.service.PedidoStreamService;
 import com.deliverytech.service.ProdutoService;
 import com.deliverytech.service.RestauranteService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Slice;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.security.core.annotation.AuthenticationPrincipal;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import jakarta.servlet.http.HttpServletResponse;
 import jakarta.validation.Valid;
-import java.math.BigDecimal;
+import java.io.IOException;
+import java.net.URI;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
+import java.util.UUID;
 import java.util.stream.Collectors;
 
 @RestController
@@ -27,15 +48,56 @@ private final PedidoService pedidoService;
 private final ClienteService clienteService;
 private final RestauranteService restauranteService;
 private final ProdutoService produtoService;
+private final PedidoIngestaoService pedidoIngestaoService;
+private final PedidoStreamService pedidoStreamService;
+private final PedidoExportacaoService pedidoExportacaoService;
+private final IdempotenciaService idempotenciaService;
 
 @PostMapping
-public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest request) {
+public ResponseEntity<?> criar(@Valid @RequestBody PedidoRequest request,
+                               @RequestHeader(value = IdempotenciaService.HEADER, required = false) String idempotencyKey,
+                               @AuthenticationPrincipal UsuarioPrincipal usuario) {
+        if (idempotencyKey == null) {
+            return processarCriacao(request);
+        }
+        // Retentativas com a mesma chave recebem a resposta original em vez de criar outro pedido
+        return idempotenciaService.executar(idempotencyKey, usuario != null ? usuario.getUserId() : null,
+                request, () -> processarCriacao(request));
+}
+
+private ResponseEntity<?> processarCriacao(PedidoRequest request) {
+        Pedido pedido = montarPedido(request);
+
+        if (pedidoIngestaoService.isHabilitada()) {
+            // Modo assíncrono: o pedido é gravado em lote; o cliente acompanha pelo protocolo
+            UUID protocolo = pedidoIngestaoService.enfileirar(pedido);
+            return ResponseEntity.accepted()
+                    .location(URI.create("/api/pedidos/ingestao/" + protocolo))
+                    .body(IngestaoPedidoResponse.pendente(protocolo));
+        }
+
+        Pedido salvo = pedidoService.criar(pedido);
+        return ResponseEntity.ok(PedidoResponse.de(salvo));
+}
+
+@GetMapping("/ingestao/{protocolo}")
+public ResponseEntity<IngestaoPedidoResponse> consultarIngestao(@PathVariable UUID protocolo) {
+        return ResponseEntity.ok(pedidoIngestaoService.consultar(protocolo)
+                .orElseThrow(() -> new EntityNotFoundException("Protocolo de ingestão não encontrado: " + protocolo)));
+}
+
+private Pedido montarPedido(PedidoRequest request) {
         // CORREÇÃO AQUI: As chamadas agora são diretas.
         Cliente cliente = clienteService.buscarPorId(request.getClienteId());
         Restaurante restaurante = restauranteService.buscarPorId(request.getRestauranteId());
 
+        // Resolve todos os produtos do carrinho de uma vez (cache + uma consulta IN para os misses)
+        Map<Long, Produto> produtos = produtoService.buscarPorIds(request.getItens().stream()
+                .map(PedidoRequest.ItemPedidoRequest::getProdutoId)
+                .collect(Collectors.toList()));
+
         List<ItemPedido> itens = request.getItens().stream().map(item -> {
-        Produto produto = produtoService.buscarPorId(item.getProdutoId());
+        Produto produto = produtos.get(item.getProdutoId());
         ItemPedido itemPedido = ItemPedido.builder()
                 .produto(produto)
                 .quantidade(item.getQuantidade())
@@ -45,38 +107,76 @@ public ResponseEntity<PedidoResponse> criar(@Valid @RequestBody PedidoRequest re
         return itemPedido;
         }).collect(Collectors.toList());
 
-        BigDecimal total = itens.stream()
-                .map(ItemPedido::getSubtotal)
-                .reduce(BigDecimal.ZERO, BigDecimal::add);
-
         Pedido pedido = Pedido.builder()
                 .cliente(cliente)
                 .restaurante(restaurante)
                 .status(StatusPedido.CRIADO)
-                .total(total)
                 .enderecoEntrega(request.getEnderecoEntrega())
                 .itens(itens)
                 .build();
+        pedido.calcularTotal();
         
         // Associa cada item ao pedido principal
         pedido.getItens().forEach(item -> item.setPedido(pedido));
+        return pedido;
+}
 
-        Pedido salvo = pedidoService.criar(pedido);
-        List<ItemPedidoResponse> itensResp = salvo.getItens().stream()
-                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
-                .collect(Collectors.toList());
-
-        return ResponseEntity.ok(new PedidoResponse(
-                salvo.getId(),
-                cliente.getId(),
-                restaurante.getId(),
-                salvo.getEnderecoEntrega(),
-                salvo.getTotal(),
-                salvo.getStatus(),
-                salvo.getDataPedido(),
-                itensResp
-        ));
+// Eventos de criação e mudança de status dos pedidos do restaurante (ou do cliente) do token
+@GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+public SseEmitter stream(@AuthenticationPrincipal UsuarioPrincipal usuario) {
+        return pedidoStreamService.conectar(usuario);
 }
 
-    // Você pode adicionar os outros endpoints (buscar, listar, etc.) aqui depois.
+@GetMapping("/{id}")
+public ResponseEntity<PedidoResponse> buscarPorId(@PathVariable Long id) {
+        return ResponseEntity.ok(pedidoService.consultarPorId(id));
+}
+
+@PatchMapping("/{id}/status")
+public ResponseEntity<Void> atualizarStatus(@PathVariable Long id, @RequestParam StatusPedido status) {
+        pedidoService.atualizarStatus(id, status);
+        return ResponseEntity.noContent().build();
+}
+
+@PatchMapping("/{id}/cancelar")
+public ResponseEntity<Void> cancelar(@PathVariable Long id) {
+        pedidoService.cancelar(id);
+        return ResponseEntity.noContent().build();
+}
+
+// Exportação em streaming (NDJSON ou CSV); o período padrão é o mês corrente
+@GetMapping("/restaurante/{restauranteId}/exportacao")
+public void exportar(@PathVariable Long restauranteId,
+                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate de,
+                     @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate ate,
+                     @RequestParam(defaultValue = "NDJSON") PedidoExportacaoService.Formato formato,
+                     HttpServletResponse response) throws IOException {
+        LocalDate inicio = de != null ? de : LocalDate.now().withDayOfMonth(1);
+        LocalDate fim = ate != null ? ate : LocalDate.now();
+        boolean csv = formato == PedidoExportacaoService.Formato.CSV;
+        response.setContentType(csv ? "text/csv;charset=UTF-8" : "application/x-ndjson;charset=UTF-8");
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, ContentDisposition.attachment()
+                .filename("pedidos-restaurante-" + restauranteId + "-" + inicio + "-" + fim + (csv ? ".csv" : ".ndjson"))
+                .build().toString());
+        pedidoExportacaoService.exportar(restauranteId, inicio, fim, formato, response.getOutputStream());
+}
+
+@GetMapping("/cliente/{clienteId}")
+public PedidoPageResponse listarPorCliente(@PathVariable Long clienteId, @Valid PedidoFiltroRequest filtro) {
+        return toPageResponse(pedidoService.listarPorCliente(clienteId, filtro));
+}
+
+@GetMapping("/restaurante/{restauranteId}")
+public PedidoPageResponse listarPorRestaurante(@PathVariable Long restauranteId, @Valid PedidoFiltroRequest filtro) {
+        return toPageResponse(pedidoService.listarPorRestaurante(restauranteId, filtro));
+}
+
+private PedidoPageResponse toPageResponse(Slice<PedidoResponse> pagina) {
+        List<PedidoResponse> pedidos = pagina.getContent();
+        // O cursor da próxima página é a posição do último pedido desta página
+        String proximoCursor = pagina.hasNext()
+                ? PedidoCursor.de(pedidos.get(pedidos.size() - 1)).codificar()
+                : null;
+        return new PedidoPageResponse(pedidos, proximoCursor, pagina.hasNext());
+}
 }
@@ -1,21 +1,32 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.cache.EtagCache;
 import com.deliverytech.dto.request.ProdutoRequest;
+import com.deliverytech.dto.response.CardapioSnapshot;
+import com.deliverytech.dto.response.ImportacaoProdutosResponse;
 import com.deliverytech.dto.response.ProdutoResponse;
 import com.deliverytech.entity.Produto;
 import com.deliverytech.entity.Restaurante;
+import com.deliverytech.service.BuscaProdutoService;
+import com.deliverytech.service.CardapioService;
+import com.deliverytech.service.ImportacaoProdutoService;
 import com.deliverytech.service.ProdutoService;
 import com.deliverytech.service.RestauranteService;
 
 import lombok.RequiredArgsConstructor;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
 import org.springframework.web.bind.annotation.GetMapping; // ✅ IMPORT NECESSÁRIO
 import org.springframework.web.bind.annotation.PathVariable; // ✅ IMPORT NECESSÁRIO
+import org.springframework.web.context.request.WebRequest;
 
+import jakarta.servlet.http.HttpServletRequest;
 import jakarta.validation.Valid;
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @RestController
 @RequestMapping("/api/produtos")
@@ -24,6 +35,12 @@ public class ProdutoController {
 
 private final ProdutoService produtoService;
 private final RestauranteService restauranteService;
+private final CardapioService cardapioService;
+private final EtagCache etagCache;
+private final BuscaProdutoService buscaProdutoService;
+private final ImportacaoProdutoService importacaoProdutoService;
+
+private static final MediaType TEXT_CSV = MediaType.parseMediaType("text/csv");
 
 @PostMapping
 public ResponseEntity<ProdutoResponse> cadastrar(@Valid @RequestBody ProdutoRequest request) {
@@ -39,30 +56,59 @@ public ResponseEntity<ProdutoResponse> cadastrar(@Valid @RequestBody ProdutoRequ
                 .build();
 
         Produto salvo = produtoService.cadastrar(produto);
-        return ResponseEntity.ok(new ProdutoResponse(
-                salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getDescricao(), salvo.getPreco(), salvo.isDisponivel()));
+        return ResponseEntity.ok(ProdutoResponse.de(salvo));
+}
+
+// Importação em massa: NDJSON (application/x-ndjson) ou CSV (text/csv), lida em streaming
+@PostMapping(value = "/importacao", consumes = {"application/x-ndjson", "text/csv"})
+public ImportacaoProdutosResponse importar(HttpServletRequest request) throws IOException {
+        ImportacaoProdutoService.Formato formato = MediaType.parseMediaType(request.getContentType())
+                .isCompatibleWith(TEXT_CSV) ? ImportacaoProdutoService.Formato.CSV : ImportacaoProdutoService.Formato.NDJSON;
+        return importacaoProdutoService.importar(request.getInputStream(), formato);
+}
+
+// Busca textual no índice em memória (nome, descrição e categoria; por prefixo e sem acentos)
+@GetMapping("/busca")
+public List<ProdutoResponse> buscar(@RequestParam("q") String termo,
+                                    @RequestParam(required = false) Boolean disponivel,
+                                    @RequestParam(required = false) Long restauranteId,
+                                    @RequestParam(defaultValue = "20") int limite) {
+        return buscaProdutoService.buscar(termo, disponivel, restauranteId, limite);
 }
 
     // ✅✅✅ MÉTODO ADICIONADO PARA BUSCAR POR ID E TESTAR O CACHE ✅✅✅
+// GET condicional: If-None-Match com o ETag atual responde 304 sem chamar o service
 @GetMapping("/{id}")
-public ResponseEntity<ProdutoResponse> buscarPorId(@PathVariable Long id) {
-        Produto produto = produtoService.buscarPorId(id);
-        ProdutoResponse response = new ProdutoResponse(
-                produto.getId(),
-                produto.getNome(),
-                produto.getCategoria(),
-                produto.getDescricao(),
-                produto.getPreco(),
-                produto.isDisponivel()
-        );
-        return ResponseEntity.ok(response);
+public ResponseEntity<ProdutoResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        String chave = EtagCache.chave(EtagCache.PRODUTO, id);
+        return etagCache.responder(webRequest, chave,
+                () -> produtoService.buscarPorId(id),
+                produto -> EtagCache.etagDaVersao(chave, produto.getVersao()),
+                () -> EtagCache.etagDaVersao(chave, produtoService.buscarVersao(id)),
+                ProdutoResponse::de);
 }
 
+// Cardápio servido do snapshot pré-serializado, com ETag (304 Not Modified) e gzip quando aceito
 @GetMapping("/restaurante/{restauranteId}")
-public List<ProdutoResponse> listarPorRestaurante(@PathVariable Long restauranteId) {
-        return produtoService.buscarPorRestaurante(restauranteId).stream()
-                .map(p -> new ProdutoResponse(p.getId(), p.getNome(), p.getCategoria(), p.getDescricao(), p.getPreco(), p.isDisponivel()))
-                .collect(Collectors.toList());
+public ResponseEntity<byte[]> listarPorRestaurante(@PathVariable Long restauranteId,
+                                                   @RequestHeader(value = HttpHeaders.ACCEPT_ENCODING, required = false) String acceptEncoding,
+                                                   WebRequest webRequest) {
+        CardapioSnapshot cardapio = cardapioService.obter(restauranteId);
+        // Cada codificação é uma representação diferente, com ETag próprio
+        boolean gzip = cardapio.getGzip() != null && acceptEncoding != null && acceptEncoding.contains("gzip");
+        String etag = gzip ? cardapio.getEtag() + "-gzip" : cardapio.getEtag();
+        if (webRequest.checkNotModified(etag)) {
+            return null; // 304 com o ETag já definido pelo checkNotModified
+        }
+
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noCache())
+                .varyBy(HttpHeaders.ACCEPT_ENCODING);
+        if (gzip) {
+            return resposta.header(HttpHeaders.CONTENT_ENCODING, "gzip").body(cardapio.getGzip());
+        }
+        return resposta.body(cardapio.getJson());
 }
 
 @PutMapping("/{id}")
@@ -74,7 +120,7 @@ public ResponseEntity<ProdutoResponse> atualizar(@PathVariable Long id, @Valid @
                 .preco(request.getPreco())
                 .build();
         Produto salvo = produtoService.atualizar(id, atualizado);
-        return ResponseEntity.ok(new ProdutoResponse(salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getDescricao(), salvo.getPreco(), salvo.isDisponivel()));
+        return ResponseEntity.ok(ProdutoResponse.de(salvo));
 }
 
 @PatchMapping("/{id}/disponibilidade")
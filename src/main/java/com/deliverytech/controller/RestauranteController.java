@@ -1,12 +1,19 @@
 package com.deliverytech.controller;
 
+import com.deliverytech.cache.EtagCache;
 import com.deliverytech.dto.request.RestauranteRequest;
+import com.deliverytech.dto.response.PainelRestauranteResponse;
+import com.deliverytech.dto.response.RestauranteProximoResponse;
 import com.deliverytech.dto.response.RestauranteResponse;
 import com.deliverytech.entity.Restaurante;
+import com.deliverytech.repository.projection.RestaurantesVersaoView;
+import com.deliverytech.service.PainelRestauranteService;
+import com.deliverytech.service.RestauranteProximidadeService;
 import com.deliverytech.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
 
 import jakarta.validation.Valid;
 import java.util.List;
@@ -18,6 +25,9 @@ import java.util.stream.Collectors;
 public class RestauranteController {
 
     private final RestauranteService restauranteService;
+    private final PainelRestauranteService painelRestauranteService;
+    private final EtagCache etagCache;
+    private final RestauranteProximidadeService proximidadeService;
 
     @PostMapping
     public ResponseEntity<RestauranteResponse> cadastrar(@Valid @RequestBody RestauranteRequest request) {
@@ -29,29 +39,67 @@ public class RestauranteController {
                 .horarioFuncionamento(request.getHorarioFuncionamento())
                 .taxaEntrega(request.getTaxaEntrega())
                 .tempoEntrega(request.getTempoEntrega())
+                .latitude(request.getLatitude())
+                .longitude(request.getLongitude())
                 .ativo(true)
                 .build();
         Restaurante salvo = restauranteService.cadastrar(restaurante);
-        return ResponseEntity.ok(new RestauranteResponse(
-                salvo.getId(), salvo.getNome(), salvo.getCategoria(), salvo.getEndereco(), salvo.getTelefone(),
-                salvo.getTaxaEntrega(), salvo.getTempoEntrega(), salvo.getHorarioFuncionamento(), salvo.isAtivo()));
+        return ResponseEntity.ok(RestauranteResponse.de(salvo));
     }
 
+    // GET condicional: If-None-Match com o ETag atual responde 304 sem consultar o banco
     @GetMapping
-    public List<RestauranteResponse> listarTodos() {
-        return restauranteService.listarTodos().stream()
-                .map(r -> new RestauranteResponse(r.getId(), r.getNome(), r.getCategoria(), r.getEndereco(), r.getTelefone(), r.getTaxaEntrega(), r.getTempoEntrega(), r.getHorarioFuncionamento(), r.isAtivo()))
-                .collect(Collectors.toList());
+    public ResponseEntity<List<RestauranteResponse>> listarTodos(WebRequest webRequest) {
+        return etagCache.responder(webRequest, EtagCache.RESTAURANTES_TODOS,
+                restauranteService::listarTodos,
+                restaurantes -> etagDaLista(versaoDe(restaurantes)),
+                () -> etagDaLista(restauranteService.buscarVersaoDaLista()),
+                restaurantes -> restaurantes.stream()
+                        .map(RestauranteResponse::de)
+                        .collect(Collectors.toList()));
     }
 
     @GetMapping("/{id}")
-    public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id) {
-        Restaurante restaurante = restauranteService.buscarPorId(id);
-        RestauranteResponse response = new RestauranteResponse(
-                restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(), restaurante.getEndereco(),
-                restaurante.getTelefone(), restaurante.getTaxaEntrega(), restaurante.getTempoEntrega(),
-                restaurante.getHorarioFuncionamento(), restaurante.isAtivo()
-        );
-        return ResponseEntity.ok(response);
+    public ResponseEntity<RestauranteResponse> buscarPorId(@PathVariable Long id, WebRequest webRequest) {
+        String chave = EtagCache.chave(EtagCache.RESTAURANTE, id);
+        return etagCache.responder(webRequest, chave,
+                () -> restauranteService.buscarPorId(id),
+                restaurante -> EtagCache.etagDaVersao(chave, restaurante.getVersao()),
+                () -> EtagCache.etagDaVersao(chave, restauranteService.buscarVersao(id)),
+                RestauranteResponse::de);
+    }
+
+    // Restaurantes mais próximos do ponto, pelo índice espacial em memória
+    @GetMapping("/proximos")
+    public List<RestauranteProximoResponse> proximos(@RequestParam double lat,
+                                                     @RequestParam double lon,
+                                                     @RequestParam(defaultValue = "10") int k,
+                                                     @RequestParam(required = false) String categoria,
+                                                     @RequestParam(defaultValue = "true") boolean ativo,
+                                                     @RequestParam(required = false) Integer tempoEntregaMax,
+                                                     @RequestParam(defaultValue = "10") double raioKm) {
+        return proximidadeService.buscarProximos(lat, lon, k, categoria, ativo, tempoEntregaMax, raioKm);
+    }
+
+    // Pedidos do dia por status e faturamento, lidos dos contadores em memória
+    @GetMapping("/{id}/painel")
+    public PainelRestauranteResponse painel(@PathVariable Long id) {
+        return painelRestauranteService.consultar(id);
+    }
+
+    // Mesmo carimbo de RestauranteRepository.buscarVersaoDaLista, calculado sobre a lista carregada
+    private static RestaurantesVersaoView versaoDe(List<Restaurante> restaurantes) {
+        long somaVersoes = 0;
+        long maiorId = 0;
+        for (Restaurante restaurante : restaurantes) {
+            somaVersoes += restaurante.getVersao() != null ? restaurante.getVersao() : 0L;
+            maiorId = Math.max(maiorId, restaurante.getId());
+        }
+        return new RestaurantesVersaoView((long) restaurantes.size(), somaVersoes, maiorId);
+    }
+
+    // A lista muda quando entra ou sai um restaurante ou algum muda de versão
+    private static String etagDaLista(RestaurantesVersaoView versao) {
+        return "restaurantes-" + versao.restaurantes() + "-" + versao.somaVersoes() + "-" + versao.maiorId();
     }
 }
@@ -0,0 +1,45 @@
+package com.deliverytech.dto.request;
+
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.exception.BusinessException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+
+/**
+ * Posição de um pedido na ordenação (dataPedido DESC, id DESC).
+ * Trafega na API como uma string Base64 opaca, para que o cliente não dependa do formato.
+ */
+public record PedidoCursor(LocalDateTime dataPedido, Long id) {
+
+    private static final char SEPARADOR = '|';
+
+    public static PedidoCursor de(PedidoResponse pedido) {
+        return new PedidoCursor(pedido.getDataPedido(), pedido.getId());
+    }
+
+    public String codificar() {
+        String bruto = dataPedido.toString() + SEPARADOR + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bruto.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decodifica o cursor recebido do cliente; retorna null quando não há cursor (primeira página).
+     */
+    public static PedidoCursor decodificar(String cursor) {
+        if (cursor == null || cursor.isBlank()) {
+            return null;
+        }
+        try {
+            String bruto = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+            int separador = bruto.lastIndexOf(SEPARADOR);
+            return new PedidoCursor(
+                    LocalDateTime.parse(bruto.substring(0, separador)),
+                    Long.parseLong(bruto.substring(separador + 1)));
+        } catch (IllegalArgumentException | DateTimeParseException | IndexOutOfBoundsException e) {
+            throw new BusinessException("Cursor de paginação inválido");
+        }
+    }
+}
@@ -0,0 +1,39 @@
+package com.deliverytech.dto.request;
+
+import com.deliverytech.entity.StatusPedido;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
+import lombok.Data;
+import org.springframework.format.annotation.DateTimeFormat;
+
+import java.time.LocalDateTime;
+
+/**
+ * Parâmetros de consulta para a listagem paginada (keyset) de pedidos.
+ * A paginação usa o par (dataPedido, id) do último pedido retornado como cursor,
+ * então o custo de cada página não cresce com a "profundidade" da navegação.
+ */
+@Data
+@Schema(description = "Filtros e cursor para listagem paginada de pedidos")
+public class PedidoFiltroRequest {
+
+    @Schema(description = "Filtra pelo status do pedido", example = "CONFIRMADO")
+    private StatusPedido status;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Data/hora inicial (inclusiva) do pedido", example = "2024-05-01T00:00:00")
+    private LocalDateTime de;
+
+    @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+    @Schema(description = "Data/hora final (exclusiva) do pedido", example = "2024-06-01T00:00:00")
+    private LocalDateTime ate;
+
+    @Schema(description = "Cursor opaco devolvido em 'proximoCursor' pela página anterior")
+    private String cursor;
+
+    @Min(value = 1, message = "O tamanho mínimo da página é 1")
+    @Max(value = 100, message = "O tamanho máximo da página é 100")
+    @Schema(description = "Quantidade de pedidos por página", example = "20")
+    private Integer tamanho = 20;
+}
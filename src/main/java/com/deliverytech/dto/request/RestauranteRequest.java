@@ -46,4 +46,14 @@ public class RestauranteRequest {
     @Schema(description = "Horário de funcionamento", example = "18:00-23:00")
     @NotBlank(message = "Horário de funcionamento é obrigatório")
     private String horarioFuncionamento;
+
+    @Schema(description = "Latitude do restaurante (opcional, usada na busca por proximidade)", example = "-23.5614")
+    @DecimalMin(value = "-90.0", message = "Latitude deve estar entre -90 e 90")
+    @DecimalMax(value = "90.0", message = "Latitude deve estar entre -90 e 90")
+    private Double latitude;
+
+    @Schema(description = "Longitude do restaurante (opcional, usada na busca por proximidade)", example = "-46.6559")
+    @DecimalMin(value = "-180.0", message = "Longitude deve estar entre -180 e 180")
+    @DecimalMax(value = "180.0", message = "Longitude deve estar entre -180 e 180")
+    private Double longitude;
 }
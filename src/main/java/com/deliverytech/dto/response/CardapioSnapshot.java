@@ -0,0 +1,19 @@
+package com.deliverytech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Cardápio de um restaurante já serializado em JSON (e opcionalmente comprimido com gzip),
+ * pronto para ser escrito na resposta sem carregar entidades nem serializar de novo.
+ * O ETag é o hash do conteúdo, então só muda quando o cardápio muda.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CardapioSnapshot {
+    private String etag;
+    private byte[] json;
+    private byte[] gzip; // null quando a compressão está desabilitada
+}
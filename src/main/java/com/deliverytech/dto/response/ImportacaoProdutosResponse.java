@@ -0,0 +1,25 @@
+package com.deliverytech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Resultado de uma importação em massa de produtos.
+ * Os erros trazem o número da linha no arquivo; a lista é limitada e "errosTruncados" indica o corte.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ImportacaoProdutosResponse {
+    private long linhasProcessadas;
+    private long importados;
+    private long comErro;
+    private List<ErroLinha> erros = new ArrayList<>();
+    private boolean errosTruncados;
+
+    public record ErroLinha(long linha, String mensagem) {}
+}
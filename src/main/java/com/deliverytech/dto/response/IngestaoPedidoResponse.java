@@ -0,0 +1,27 @@
+package com.deliverytech.dto.response;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.UUID;
+
+/**
+ * Situação de um pedido recebido pela ingestão assíncrona.
+ * O protocolo é devolvido no 202 Accepted e serve para consultar o andamento.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class IngestaoPedidoResponse {
+    private UUID protocolo;
+    private StatusIngestao status;
+    private Long pedidoId;
+    private String erro;
+
+    public static IngestaoPedidoResponse pendente(UUID protocolo) {
+        return new IngestaoPedidoResponse(protocolo, StatusIngestao.PENDENTE, null, null);
+    }
+}
@@ -0,0 +1,17 @@
+package com.deliverytech.dto.response;
+
+import com.deliverytech.entity.StatusPedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Map;
+
+/**
+ * Painel operacional do dia de um restaurante: pedidos por status e faturamento
+ * (soma dos pedidos do dia que não foram cancelados).
+ */
+public record PainelRestauranteResponse(Long restauranteId,
+                                        LocalDate data,
+                                        Map<StatusPedido, Long> pedidosPorStatus,
+                                        BigDecimal faturamento) {
+}
@@ -0,0 +1,17 @@
+package com.deliverytech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PedidoPageResponse {
+    private List<PedidoResponse> pedidos;
+    // Cursor para buscar a próxima página; null quando esta é a última
+    private String proximoCursor;
+    private boolean temMais;
+}
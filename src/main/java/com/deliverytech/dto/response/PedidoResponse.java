@@ -1,13 +1,16 @@
 package com.deliverytech.dto.response;
 
 import com.deliverytech.entity.Endereco;
+import com.deliverytech.entity.Pedido;
 import com.deliverytech.entity.StatusPedido;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Data
 @NoArgsConstructor
@@ -21,4 +24,27 @@ public class PedidoResponse {
     private StatusPedido status;
     private LocalDateTime dataPedido;
     private List<ItemPedidoResponse> itens;
+
+    // Usado pelas consultas de projeção (SELECT new ...); os itens são preenchidos depois, em lote
+    public PedidoResponse(Long id, Long clienteId, Long restauranteId, Endereco enderecoEntrega,
+                          BigDecimal total, StatusPedido status, LocalDateTime dataPedido) {
+        this(id, clienteId, restauranteId, enderecoEntrega, total, status, dataPedido, new ArrayList<>());
+    }
+
+    // Mapeia a partir da entidade; espera cliente, restaurante e produtos dos itens já carregados
+    public static PedidoResponse de(Pedido pedido) {
+        List<ItemPedidoResponse> itens = pedido.getItens().stream()
+                .map(i -> new ItemPedidoResponse(i.getProduto().getId(), i.getProduto().getNome(), i.getQuantidade(), i.getPrecoUnitario()))
+                .collect(Collectors.toList());
+        return new PedidoResponse(
+                pedido.getId(),
+                pedido.getCliente().getId(),
+                pedido.getRestaurante().getId(),
+                pedido.getEnderecoEntrega(),
+                pedido.getTotal(),
+                pedido.getStatus(),
+                pedido.getDataPedido(),
+                itens
+        );
+    }
 }
@@ -1,5 +1,6 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.entity.Produto;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -15,4 +16,9 @@ public class ProdutoResponse {
     private String descricao;
     private BigDecimal preco;
     private boolean disponivel;
+
+    public static ProdutoResponse de(Produto produto) {
+        return new ProdutoResponse(produto.getId(), produto.getNome(), produto.getCategoria(),
+                produto.getDescricao(), produto.getPreco(), produto.isDisponivel());
+    }
 }
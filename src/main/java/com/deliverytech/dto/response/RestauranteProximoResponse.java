@@ -0,0 +1,13 @@
+package com.deliverytech.dto.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class RestauranteProximoResponse {
+    private RestauranteResponse restaurante;
+    private double distanciaKm;
+}
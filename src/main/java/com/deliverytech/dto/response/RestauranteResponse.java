@@ -1,5 +1,6 @@
 package com.deliverytech.dto.response;
 
+import com.deliverytech.entity.Restaurante;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,4 +19,14 @@ public class RestauranteResponse {
     private Integer tempoEntrega;
     private String horarioFuncionamento;
     private boolean ativo;
+    private Double latitude;
+    private Double longitude;
+
+    public static RestauranteResponse de(Restaurante restaurante) {
+        return new RestauranteResponse(
+                restaurante.getId(), restaurante.getNome(), restaurante.getCategoria(), restaurante.getEndereco(),
+                restaurante.getTelefone(), restaurante.getTaxaEntrega(), restaurante.getTempoEntrega(),
+                restaurante.getHorarioFuncionamento(), restaurante.isAtivo(),
+                restaurante.getLatitude(), restaurante.getLongitude());
+    }
 }
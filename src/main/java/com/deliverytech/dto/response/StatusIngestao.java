@@ -0,0 +1,7 @@
+package com.deliverytech.dto.response;
+
+public enum StatusIngestao {
+    PENDENTE,    // O pedido foi aceito e aguarda na fila de gravação.
+    PERSISTIDO,  // O pedido foi gravado no banco; pedidoId já está disponível.
+    FALHOU       // A gravação falhou; o motivo está em "erro".
+}
@@ -2,6 +2,7 @@ package com.deliverytech.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
@@ -12,17 +13,27 @@ import java.util.List;
 @NoArgsConstructor
 @AllArgsConstructor
 @Builder
-@Table(name = "pedidos") // É uma boa prática definir o nome da tabela
+@Table(name = "pedidos", // É uma boa prática definir o nome da tabela
+        indexes = {
+                // Índices que cobrem a ordenação da paginação keyset (dataPedido, id)
+                @Index(name = "idx_pedidos_cliente_data", columnList = "cliente_id, dataPedido, id"),
+                @Index(name = "idx_pedidos_restaurante_data", columnList = "restaurante_id, dataPedido, id")
+        })
 public class Pedido {
 
-    @Id @GeneratedValue(strategy = GenerationType.IDENTITY)
+    // Sequência com otimizador pooled (50 ids por ida ao banco); ao contrário de IDENTITY, permite o batch de INSERTs.
+    // No MySQL, sem sequências nativas, o Hibernate emula com a tabela pedidos_seq.
+    @Id
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "pedidos_seq")
+    @SequenceGenerator(name = "pedidos_seq", sequenceName = "pedidos_seq", allocationSize = 50)
     private Long id;
 
-    @ManyToOne
+    // LAZY: as leituras usam projeções (PedidoRepository) e não precisam carregar o cliente inteiro
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "cliente_id", nullable = false) // Garante que todo pedido tenha um cliente
     private Cliente cliente;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     @JoinColumn(name = "restaurante_id", nullable = false) // Garante que todo pedido tenha um restaurante
     private Restaurante restaurante;
 
@@ -43,4 +54,19 @@ public class Pedido {
 
     @Embedded
     private Endereco enderecoEntrega;
+
+    // Lock otimista: um save com versão desatualizada falha em vez de sobrescrever outra alteração
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
+    // Calcula o total do pedido a partir dos subtotais dos itens
+    public void calcularTotal() {
+        BigDecimal soma = BigDecimal.ZERO;
+        for (ItemPedido item : itens) {
+            soma = soma.add(item.getSubtotal());
+        }
+        total = soma;
+    }
 }
@@ -2,6 +2,7 @@ package com.deliverytech.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import com.fasterxml.jackson.annotation.JsonIgnore;
 import java.math.BigDecimal; // Use BigDecimal para dinheiro
 
@@ -14,9 +15,16 @@ import java.math.BigDecimal; // Use BigDecimal para dinheiro
 public class Produto {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "produtos_seq")
+    @SequenceGenerator(name = "produtos_seq", sequenceName = "produtos_seq", allocationSize = 50)
     private Long id;
 
+    // Incrementada a cada alteração; base dos ETags das leituras (EtagCache)
+    @Version
+    @ColumnDefault("0") // Linhas que já existiam ganham versão 0 quando o ddl-auto=update cria a coluna
+    @Column(nullable = false)
+    private Long versao;
+
     private String nome;
     private String descricao;
     private String categoria; // <-- CAMPO ADICIONADO
@@ -2,6 +2,7 @@ package com.deliverytech.entity;
 
 import jakarta.persistence.*;
 import lombok.*;
+import org.hibernate.annotations.ColumnDefault;
 import java.math.BigDecimal;
 import java.util.ArrayList;
 import java.util.List;
@@ -15,9 +16,16 @@ import java.util.List;
 public class Restaurante {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "restaurantes_seq")
+    @SequenceGenerator(name = "restaurantes_seq", sequenceName = "restaurantes_seq", allocationSize = 50)
     private Long id;
 
+    // Incrementada a cada alteração; base dos ETags das leituras (EtagCache)
+    @Version
+    @ColumnDefault("0")
+    @Column(nullable = false)
+    private Long versao;
+
     private String nome;
     private String endereco;
     private String categoria;
@@ -29,6 +37,10 @@ public class Restaurante {
 
     private Integer tempoEntrega;
 
+    // Coordenadas (WGS84) usadas na busca por proximidade; opcionais para restaurantes antigos
+    private Double latitude;
+    private Double longitude;
+
     @Builder.Default
     private boolean ativo = true;
 
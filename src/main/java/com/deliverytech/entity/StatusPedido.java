@@ -1,10 +1,49 @@
 package com.deliverytech.entity;
 
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.Set;
+
 public enum StatusPedido {
     CRIADO,          // O pedido foi criado pelo cliente, mas ainda não foi confirmado pelo restaurante.
     CONFIRMADO,      // O restaurante aceitou o pedido.
     EM_PREPARO,      // O pedido está sendo preparado.
     SAIU_PARA_ENTREGA, // O pedido está a caminho do cliente.
     ENTREGUE,        // O pedido foi entregue com sucesso.
-    CANCELADO        // O pedido foi cancelado.
+    CANCELADO;       // O pedido foi cancelado.
+
+    // Máquina de estados: para cada status, de quais status ele pode ser alcançado
+    private static final Map<StatusPedido, Set<StatusPedido>> ORIGENS = new EnumMap<>(StatusPedido.class);
+
+    static {
+        ORIGENS.put(CRIADO, EnumSet.noneOf(StatusPedido.class));
+        ORIGENS.put(CONFIRMADO, EnumSet.of(CRIADO));
+        ORIGENS.put(EM_PREPARO, EnumSet.of(CONFIRMADO));
+        ORIGENS.put(SAIU_PARA_ENTREGA, EnumSet.of(EM_PREPARO));
+        ORIGENS.put(ENTREGUE, EnumSet.of(SAIU_PARA_ENTREGA));
+        // Depois que saiu para entrega não é mais possível cancelar
+        ORIGENS.put(CANCELADO, EnumSet.of(CRIADO, CONFIRMADO, EM_PREPARO));
+
+        // As transições só avançam na ordem de declaração; o painel depende disso para ordenar eventos
+        ORIGENS.forEach((destino, origens) -> origens.forEach(origem -> {
+            if (origem.compareTo(destino) >= 0) {
+                throw new IllegalStateException("Transição " + origem + " -> " + destino + " volta na ordem dos status");
+            }
+        }));
+    }
+
+    // Status a partir dos quais é permitido ir para este (usado no UPDATE condicional)
+    public Set<StatusPedido> origens() {
+        return ORIGENS.get(this);
+    }
+
+    public boolean podeIrPara(StatusPedido destino) {
+        return ORIGENS.get(destino).contains(this);
+    }
+
+    // Como toda transição avança na ordem de declaração, um status posterior é sempre uma mudança mais recente
+    public boolean posteriorA(StatusPedido outro) {
+        return outro == null || compareTo(outro) > 0;
+    }
 }
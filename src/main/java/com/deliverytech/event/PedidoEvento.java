@@ -0,0 +1,35 @@
+package com.deliverytech.event;
+
+import com.deliverytech.entity.StatusPedido;
+import com.deliverytech.repository.projection.PedidoResumoView;
+
+import java.math.BigDecimal;
+import java.time.Instant;
+import java.time.LocalDateTime;
+
+/**
+ * Evento publicado pelo PedidoServiceImpl quando um pedido é criado ou muda de status.
+ * Os ouvintes (ex: stream SSE) recebem o evento somente após o commit da transação.
+ *
+ * Os callbacks de commit de transações diferentes podem chegar fora de ordem; como as transições
+ * só avançam (StatusPedido.posteriorA), quem mantém estado descarta eventos de status anterior.
+ */
+public record PedidoEvento(Tipo tipo,
+                           Long pedidoId,
+                           Long clienteId,
+                           Long restauranteId,
+                           StatusPedido status,
+                           BigDecimal total,
+                           LocalDateTime dataPedido,
+                           Instant instante) {
+
+    public enum Tipo {
+        PEDIDO_CRIADO,
+        STATUS_ALTERADO
+    }
+
+    public static PedidoEvento de(Tipo tipo, PedidoResumoView pedido, StatusPedido status) {
+        return new PedidoEvento(tipo, pedido.id(), pedido.clienteId(), pedido.restauranteId(), status,
+                pedido.total(), pedido.dataPedido(), Instant.now());
+    }
+}
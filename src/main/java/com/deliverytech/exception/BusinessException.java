@@ -0,0 +1,17 @@
+package com.deliverytech.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção customizada para violações de regras de negócio ou parâmetros inválidos.
+ * A anotação @ResponseStatus(HttpStatus.BAD_REQUEST) garante que, por padrão,
+ * qualquer controller que não capture esta exceção retornará um código 400.
+ */
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class BusinessException extends RuntimeException {
+
+    public BusinessException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,16 @@
+package com.deliverytech.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando a operação não é compatível com o estado atual do recurso
+ * (ex: transição de status inválida ou alterada por outra requisição concorrente).
+ */
+@ResponseStatus(HttpStatus.CONFLICT)
+public class ConflitoException extends RuntimeException {
+
+    public ConflitoException(String message) {
+        super(message);
+    }
+}
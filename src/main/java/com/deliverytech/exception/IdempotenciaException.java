@@ -0,0 +1,16 @@
+package com.deliverytech.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando uma Idempotency-Key já usada é reenviada com um corpo diferente
+ * do da requisição original.
+ */
+@ResponseStatus(HttpStatus.UNPROCESSABLE_ENTITY)
+public class IdempotenciaException extends RuntimeException {
+
+    public IdempotenciaException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,23 @@
+package com.deliverytech.exception;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * Exceção lançada quando o serviço está temporariamente sem capacidade (ex: fila de ingestão cheia).
+ * O cliente deve tentar novamente após o intervalo indicado em Retry-After.
+ */
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class ServicoIndisponivelException extends RuntimeException {
+
+    private final long retryAfterSegundos;
+
+    public ServicoIndisponivelException(String message, long retryAfterSegundos) {
+        super(message);
+        this.retryAfterSegundos = retryAfterSegundos;
+    }
+
+    public long getRetryAfterSegundos() {
+        return retryAfterSegundos;
+    }
+}
@@ -0,0 +1,25 @@
+package com.deliverytech.idempotencia;
+
+import java.util.Optional;
+
+/**
+ * Onde ficam as Idempotency-Keys e as respostas já produzidas. As entradas expiram sozinhas:
+ * a reserva em "ttl-em-andamento" (para não travar a chave se o nó cair no meio do processamento)
+ * e a resposta concluída em "ttl".
+ */
+public interface ArmazenamentoIdempotencia {
+
+    Optional<RegistroIdempotencia> buscar(String chave);
+
+    /**
+     * Reserva a chave para a requisição atual; retorna false se ela já existe (em andamento ou concluída).
+     */
+    boolean reservar(String chave, RegistroIdempotencia emAndamento);
+
+    void concluir(String chave, RegistroIdempotencia concluido);
+
+    /**
+     * Remove a reserva (a requisição falhou), permitindo que uma nova tentativa processe de novo.
+     */
+    void liberar(String chave);
+}
@@ -0,0 +1,59 @@
+package com.deliverytech.idempotencia;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Armazenamento em memória (Caffeine), limitado em tamanho e com expiração por entrada.
+ * Vale só para o nó atual: com várias instâncias atrás do balanceador use o Redis.
+ */
+public class LocalArmazenamentoIdempotencia implements ArmazenamentoIdempotencia {
+
+    private final Cache<String, RegistroIdempotencia> registros;
+
+    public LocalArmazenamentoIdempotencia(long tamanhoMaximo, Duration ttl, Duration ttlEmAndamento) {
+        this.registros = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfter(new Expiry<String, RegistroIdempotencia>() {
+                    @Override
+                    public long expireAfterCreate(String chave, RegistroIdempotencia registro, long agora) {
+                        return (registro.concluido() ? ttl : ttlEmAndamento).toNanos();
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(String chave, RegistroIdempotencia registro, long agora, long restante) {
+                        return expireAfterCreate(chave, registro, agora);
+                    }
+
+                    @Override
+                    public long expireAfterRead(String chave, RegistroIdempotencia registro, long agora, long restante) {
+                        return restante;
+                    }
+                })
+                .build();
+    }
+
+    @Override
+    public Optional<RegistroIdempotencia> buscar(String chave) {
+        return Optional.ofNullable(registros.getIfPresent(chave));
+    }
+
+    @Override
+    public boolean reservar(String chave, RegistroIdempotencia emAndamento) {
+        return registros.asMap().putIfAbsent(chave, emAndamento) == null;
+    }
+
+    @Override
+    public void concluir(String chave, RegistroIdempotencia concluido) {
+        registros.put(chave, concluido);
+    }
+
+    @Override
+    public void liberar(String chave) {
+        registros.invalidate(chave);
+    }
+}
@@ -0,0 +1,67 @@
+package com.deliverytech.idempotencia;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.data.redis.core.StringRedisTemplate;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Armazenamento compartilhado entre os nós: a reserva é um SET NX com expiração, então só uma
+ * instância processa cada chave, e a resposta concluída fica em JSON com o TTL configurado.
+ */
+public class RedisArmazenamentoIdempotencia implements ArmazenamentoIdempotencia {
+
+    private final StringRedisTemplate redisTemplate;
+    private final ObjectMapper objectMapper;
+    private final String prefixo;
+    private final Duration ttl;
+    private final Duration ttlEmAndamento;
+
+    public RedisArmazenamentoIdempotencia(StringRedisTemplate redisTemplate, ObjectMapper objectMapper,
+                                          String prefixo, Duration ttl, Duration ttlEmAndamento) {
+        this.redisTemplate = redisTemplate;
+        this.objectMapper = objectMapper;
+        this.prefixo = prefixo;
+        this.ttl = ttl;
+        this.ttlEmAndamento = ttlEmAndamento;
+    }
+
+    @Override
+    public Optional<RegistroIdempotencia> buscar(String chave) {
+        String valor = redisTemplate.opsForValue().get(prefixo + chave);
+        if (valor == null) {
+            return Optional.empty();
+        }
+        try {
+            return Optional.of(objectMapper.readValue(valor, RegistroIdempotencia.class));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Registro de idempotência ilegível para a chave " + chave, e);
+        }
+    }
+
+    @Override
+    public boolean reservar(String chave, RegistroIdempotencia emAndamento) {
+        return Boolean.TRUE.equals(redisTemplate.opsForValue()
+                .setIfAbsent(prefixo + chave, serializar(emAndamento), ttlEmAndamento));
+    }
+
+    @Override
+    public void concluir(String chave, RegistroIdempotencia concluido) {
+        redisTemplate.opsForValue().set(prefixo + chave, serializar(concluido), ttl);
+    }
+
+    @Override
+    public void liberar(String chave) {
+        redisTemplate.delete(prefixo + chave);
+    }
+
+    private String serializar(RegistroIdempotencia registro) {
+        try {
+            return objectMapper.writeValueAsString(registro);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar registro de idempotência", e);
+        }
+    }
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.idempotencia;
+
+/**
+ * Situação de uma Idempotency-Key: reservada pela requisição que está em processamento ou
+ * concluída com a resposta a ser repetida nas tentativas seguintes.
+ *
+ * @param impressaoDigital hash do corpo da requisição original; a mesma chave com outro corpo é recusada
+ * @param concluido        false enquanto a primeira requisição ainda está em processamento
+ * @param status           status HTTP da resposta original
+ * @param location         header Location da resposta original, se houver
+ * @param corpo            corpo JSON da resposta original
+ */
+public record RegistroIdempotencia(String impressaoDigital, boolean concluido, int status, String location, byte[] corpo) {
+
+    public static RegistroIdempotencia emAndamento(String impressaoDigital) {
+        return new RegistroIdempotencia(impressaoDigital, false, 0, null, null);
+    }
+}
@@ -2,6 +2,8 @@ package com.deliverytech.repository;
 
 import com.deliverytech.entity.Cliente;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 import java.util.List;
 import java.util.Optional;
@@ -10,4 +12,8 @@ import java.util.Optional;
 public interface ClienteRepository extends JpaRepository<Cliente, Long> {
     Optional<Cliente> findByEmail(String email);
     List<Cliente> findByAtivoTrue();
+
+    // Versão atual no banco, para conferir ETags guardados (EtagCache)
+    @Query("SELECT c.versao FROM Cliente c WHERE c.id = :id")
+    Optional<Long> buscarVersaoPorId(@Param("id") Long id);
 }
\ No newline at end of file
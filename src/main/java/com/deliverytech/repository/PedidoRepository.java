@@ -1,10 +1,27 @@
 package com.deliverytech.repository;
 
+import com.deliverytech.dto.response.PedidoResponse;
 import com.deliverytech.entity.Pedido;
+import com.deliverytech.entity.StatusPedido;
+import com.deliverytech.repository.projection.ItemPedidoView;
+import com.deliverytech.repository.projection.PedidoPainelView;
+import com.deliverytech.repository.projection.PedidoResumoView;
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
+import java.util.stream.Stream;
 
 @Repository
 public interface PedidoRepository extends JpaRepository<Pedido, Long> {
@@ -14,4 +31,113 @@ public interface PedidoRepository extends JpaRepository<Pedido, Long> {
 
     // Método para buscar por ID do restaurante
     List<Pedido> findByRestauranteId(Long restauranteId);
+
+    // Leitura de um pedido direto para o DTO, sem carregar cliente/restaurante
+    @Query("""
+            SELECT new com.deliverytech.dto.response.PedidoResponse(
+                       p.id, p.cliente.id, p.restaurante.id, p.enderecoEntrega, p.total, p.status, p.dataPedido)
+            FROM Pedido p
+            WHERE p.id = :id
+            """)
+    Optional<PedidoResponse> buscarResumoPorId(@Param("id") Long id);
+
+    // Itens de vários pedidos em uma única consulta (uma junção com produtos, sem N+1)
+    @Query("""
+            SELECT new com.deliverytech.repository.projection.ItemPedidoView(
+                       i.pedido.id, pr.id, pr.nome, i.quantidade, i.precoUnitario)
+            FROM ItemPedido i JOIN i.produto pr
+            WHERE i.pedido.id IN :pedidoIds
+            ORDER BY i.id
+            """)
+    List<ItemPedidoView> buscarItensDosPedidos(@Param("pedidoIds") Collection<Long> pedidoIds);
+
+    // Paginação keyset: continua a partir de (cursorData, cursorId) na ordem (dataPedido DESC, id DESC).
+    // O Pageable é sempre da página 0; ele só limita a quantidade de linhas (tamanho + 1 para o Slice).
+    @Query("""
+            SELECT new com.deliverytech.dto.response.PedidoResponse(
+                       p.id, p.cliente.id, p.restaurante.id, p.enderecoEntrega, p.total, p.status, p.dataPedido)
+            FROM Pedido p
+            WHERE p.cliente.id = :clienteId
+              AND (:status IS NULL OR p.status = :status)
+              AND (:de IS NULL OR p.dataPedido >= :de)
+              AND (:ate IS NULL OR p.dataPedido < :ate)
+              AND (:cursorData IS NULL
+                   OR p.dataPedido < :cursorData
+                   OR (p.dataPedido = :cursorData AND p.id < :cursorId))
+            ORDER BY p.dataPedido DESC, p.id DESC
+            """)
+    Slice<PedidoResponse> buscarPaginaPorCliente(@Param("clienteId") Long clienteId,
+                                         @Param("status") StatusPedido status,
+                                         @Param("de") LocalDateTime de,
+                                         @Param("ate") LocalDateTime ate,
+                                         @Param("cursorData") LocalDateTime cursorData,
+                                         @Param("cursorId") Long cursorId,
+                                         Pageable limite);
+
+    @Query("""
+            SELECT new com.deliverytech.dto.response.PedidoResponse(
+                       p.id, p.cliente.id, p.restaurante.id, p.enderecoEntrega, p.total, p.status, p.dataPedido)
+            FROM Pedido p
+            WHERE p.restaurante.id = :restauranteId
+              AND (:status IS NULL OR p.status = :status)
+              AND (:de IS NULL OR p.dataPedido >= :de)
+              AND (:ate IS NULL OR p.dataPedido < :ate)
+              AND (:cursorData IS NULL
+                   OR p.dataPedido < :cursorData
+                   OR (p.dataPedido = :cursorData AND p.id < :cursorId))
+            ORDER BY p.dataPedido DESC, p.id DESC
+            """)
+    Slice<PedidoResponse> buscarPaginaPorRestaurante(@Param("restauranteId") Long restauranteId,
+                                             @Param("status") StatusPedido status,
+                                             @Param("de") LocalDateTime de,
+                                             @Param("ate") LocalDateTime ate,
+                                             @Param("cursorData") LocalDateTime cursorData,
+                                             @Param("cursorId") Long cursorId,
+                                             Pageable limite);
+
+    // Transição de status em um único comando: só atualiza se o status atual for uma das origens válidas.
+    // O lock da linha serializa transições concorrentes; a segunda reavalia o WHERE e afeta 0 linhas
+    @Modifying
+    @Query("""
+            UPDATE Pedido p SET p.status = :novoStatus, p.versao = p.versao + 1
+            WHERE p.id = :id AND p.status IN :origens
+            """)
+    int atualizarStatusSe(@Param("id") Long id,
+                          @Param("origens") Collection<StatusPedido> origens,
+                          @Param("novoStatus") StatusPedido novoStatus);
+
+    @Query("""
+            SELECT new com.deliverytech.repository.projection.PedidoResumoView(
+                p.id, p.cliente.id, p.restaurante.id, p.total, p.dataPedido)
+            FROM Pedido p WHERE p.id = :id
+            """)
+    Optional<PedidoResumoView> buscarResumoEventoPorId(@Param("id") Long id);
+
+    // Exportação: leitura só para frente, em blocos de 500 linhas, com itens e produtos na mesma consulta.
+    // A ordenação por pedido mantém as linhas de cada pedido juntas para o fetch da coleção no streaming.
+    @QueryHints({
+            @QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"),
+            @QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")
+    })
+    @Query("""
+            SELECT p FROM Pedido p
+            LEFT JOIN FETCH p.itens i
+            LEFT JOIN FETCH i.produto
+            WHERE p.restaurante.id = :restauranteId
+              AND p.dataPedido >= :de AND p.dataPedido < :ate
+            ORDER BY p.dataPedido, p.id
+            """)
+    Stream<Pedido> streamPorRestauranteEPeriodo(@Param("restauranteId") Long restauranteId,
+                                                 @Param("de") LocalDateTime de,
+                                                 @Param("ate") LocalDateTime ate);
+
+    // Pedidos a partir de um instante (ex: início do dia), para reconstruir o painel dos restaurantes
+    @Query("""
+            SELECT new com.deliverytech.repository.projection.PedidoPainelView(p.id, p.restaurante.id, p.status, p.total)
+            FROM Pedido p WHERE p.dataPedido >= :desde
+            """)
+    List<PedidoPainelView> buscarParaPainelDesde(@Param("desde") LocalDateTime desde);
+
+    @Query("SELECT p.status FROM Pedido p WHERE p.id = :id")
+    Optional<StatusPedido> buscarStatusPorId(@Param("id") Long id);
 }
@@ -1,11 +1,36 @@
 package com.deliverytech.repository;
 
 import com.deliverytech.entity.Produto;
+import com.deliverytech.repository.projection.CardapioVersaoView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import java.util.Collection;
 import java.util.List;
+import java.util.Optional;
 
 public interface ProdutoRepository extends JpaRepository<Produto, Long> {
 
     // Adicione esta linha para corrigir o erro no service
     List<Produto> findByRestauranteId(Long restauranteId);
+
+    // Busca vários produtos em uma única consulta (WHERE id IN (...))
+    List<Produto> findByIdIn(Collection<Long> ids);
+
+    // Restaurante de um produto, sem carregar a entidade (o produto em cache não traz o restaurante)
+    @Query("SELECT p.restaurante.id FROM Produto p WHERE p.id = :id")
+    Optional<Long> buscarRestauranteIdPorId(@Param("id") Long id);
+
+    // Carimbo de versão do cardápio, para conferir o snapshot guardado (CardapioServiceImpl)
+    @Query("""
+            SELECT new com.deliverytech.repository.projection.CardapioVersaoView(
+                COUNT(p), COALESCE(SUM(p.versao), 0L), COALESCE(MAX(p.id), 0L))
+            FROM Produto p WHERE p.restaurante.id = :restauranteId
+            """)
+    CardapioVersaoView buscarVersaoDoCardapio(@Param("restauranteId") Long restauranteId);
+
+    // Versão atual no banco, para conferir ETags guardados (EtagCache)
+    @Query("SELECT p.versao FROM Produto p WHERE p.id = :id")
+    Optional<Long> buscarVersaoPorId(@Param("id") Long id);
 }
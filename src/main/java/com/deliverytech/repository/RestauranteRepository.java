@@ -1,7 +1,10 @@
 package com.deliverytech.repository;
 
 import com.deliverytech.entity.Restaurante;
+import com.deliverytech.repository.projection.RestaurantesVersaoView;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.List;
@@ -16,6 +19,18 @@ public interface RestauranteRepository extends JpaRepository<Restaurante, Long>
     // Buscar por categoria (corrigido para bater com o que o Service precisa)
     List<Restaurante> findByCategoria(String categoria);
 
+    // Versão atual no banco, para conferir ETags guardados (EtagCache)
+    @Query("SELECT r.versao FROM Restaurante r WHERE r.id = :id")
+    Optional<Long> buscarVersaoPorId(@Param("id") Long id);
+
+    // Carimbo de versão da lista completa, para conferir o ETag de GET /api/restaurantes sem carregá-la
+    @Query("""
+            SELECT new com.deliverytech.repository.projection.RestaurantesVersaoView(
+                COUNT(r), COALESCE(SUM(r.versao), 0L), COALESCE(MAX(r.id), 0L))
+            FROM Restaurante r
+            """)
+    RestaurantesVersaoView buscarVersaoDaLista();
+
     // Você pode adicionar os outros métodos de volta quando precisar deles.
     // Por enquanto, vamos manter simples para fazer o projeto compilar.
 }
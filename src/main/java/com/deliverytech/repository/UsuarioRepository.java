@@ -2,6 +2,8 @@ package com.deliverytech.repository;
 
 import com.deliverytech.entity.Usuario;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
 import java.util.Optional;
@@ -9,4 +11,8 @@ import java.util.Optional;
 @Repository
 public interface UsuarioRepository extends JpaRepository<Usuario, Long> {
     Optional<Usuario> findByEmail(String email);
+
+    // Consulta só a coluna "ativo", usada pelo cache de status da autenticação stateless
+    @Query("SELECT COALESCE(u.ativo, true) FROM Usuario u WHERE u.id = :id")
+    Optional<Boolean> buscarAtivoPorId(@Param("id") Long id);
 }
@@ -0,0 +1,8 @@
+package com.deliverytech.repository.projection;
+
+/**
+ * Carimbo de versão do cardápio de um restaurante: muda quando um produto é criado (quantidade e
+ * maior id), alterado (soma das versões, já que cada alteração incrementa a @Version) ou removido.
+ */
+public record CardapioVersaoView(Long produtos, Long somaVersoes, Long maiorId) {
+}
@@ -0,0 +1,10 @@
+package com.deliverytech.repository.projection;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção de leitura de um item de pedido, já com o nome do produto.
+ * Carregada em lote para vários pedidos de uma vez, evitando o N+1 em ItemPedido.produto.
+ */
+public record ItemPedidoView(Long pedidoId, Long produtoId, String nomeProduto, Integer quantidade, BigDecimal precoUnitario) {
+}
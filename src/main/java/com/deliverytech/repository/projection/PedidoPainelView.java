@@ -0,0 +1,11 @@
+package com.deliverytech.repository.projection;
+
+import com.deliverytech.entity.StatusPedido;
+
+import java.math.BigDecimal;
+
+/**
+ * Projeção mínima de um pedido para reconstruir os contadores do painel dos restaurantes.
+ */
+public record PedidoPainelView(Long id, Long restauranteId, StatusPedido status, BigDecimal total) {
+}
@@ -0,0 +1,18 @@
+package com.deliverytech.repository.projection;
+
+import com.deliverytech.entity.Pedido;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * Dados imutáveis de um pedido (quem pediu, de onde, quanto e quando), usados para montar eventos.
+ * Como não mudam depois da criação, podem ser mantidos em cache sem invalidação.
+ */
+public record PedidoResumoView(Long id, Long clienteId, Long restauranteId, BigDecimal total, LocalDateTime dataPedido) {
+
+    public static PedidoResumoView de(Pedido pedido) {
+        return new PedidoResumoView(pedido.getId(), pedido.getCliente().getId(), pedido.getRestaurante().getId(),
+                pedido.getTotal(), pedido.getDataPedido());
+    }
+}
@@ -0,0 +1,8 @@
+package com.deliverytech.repository.projection;
+
+/**
+ * Carimbo de versão da lista de restaurantes: muda quando um restaurante é criado (quantidade e
+ * maior id), alterado (soma das versões) ou removido. Mesmo critério de CardapioVersaoView.
+ */
+public record RestaurantesVersaoView(Long restaurantes, Long somaVersoes, Long maiorId) {
+}
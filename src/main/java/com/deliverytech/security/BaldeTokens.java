@@ -0,0 +1,44 @@
+package com.deliverytech.security;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket sem lock, implementado como GCRA (generic cell rate algorithm).
+ *
+ * Em vez de guardar a quantidade de tokens e o instante da última recarga, o balde guarda um único
+ * long: o instante teórico em que ele estaria cheio de novo. Cada requisição empurra esse instante
+ * um intervalo de emissão (1 / taxa) para frente; se ele ficaria mais de "capacidade" intervalos à
+ * frente do relógio, o balde está vazio. A atualização é um compare-and-set no AtomicLong.
+ */
+class BaldeTokens {
+
+    private final long intervaloEmissaoNanos;
+    private final long toleranciaNanos;
+    private final AtomicLong cheioEm;
+
+    BaldeTokens(int capacidade, double porSegundo, long agoraNanos) {
+        this.intervaloEmissaoNanos = (long) (1_000_000_000L / porSegundo);
+        this.toleranciaNanos = intervaloEmissaoNanos * (capacidade - 1L);
+        this.cheioEm = new AtomicLong(agoraNanos);
+    }
+
+    /**
+     * Consome um token se houver.
+     *
+     * @return 0 se a requisição foi aceita, ou quantos nanossegundos faltam para o próximo token
+     */
+    long consumir(long agoraNanos) {
+        while (true) {
+            long atual = cheioEm.get();
+            // Balde que ficou cheio no passado: os tokens acumulados não passam da capacidade
+            long base = Math.max(atual, agoraNanos);
+            long espera = base - agoraNanos - toleranciaNanos;
+            if (espera > 0) {
+                return espera;
+            }
+            if (cheioEm.compareAndSet(atual, base + intervaloEmissaoNanos)) {
+                return 0;
+            }
+        }
+    }
+}
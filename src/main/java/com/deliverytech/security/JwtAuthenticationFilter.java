@@ -1,8 +1,9 @@
 package com.deliverytech.security;
 
-import com.deliverytech.repository.UsuarioRepository;
-import io.jsonwebtoken.ExpiredJwtException;
+import io.jsonwebtoken.Claims;
+import io.jsonwebtoken.JwtException;
 import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
 import org.springframework.security.core.context.SecurityContextHolder;
 import org.springframework.security.core.userdetails.UserDetailsService;
@@ -23,6 +24,15 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
 
     private final JwtUtil jwtUtil;
     private final UserDetailsService userDetailsService;
+    private final UsuarioStatusCache usuarioStatusCache;
+
+    // Stateless mode: build the principal straight from the verified claims (no DB query per request).
+    @Value("${jwt.principal.stateless:false}")
+    private boolean statelessPrincipal;
+
+    // Optional short-TTL status check so deactivated users are still rejected in stateless mode.
+    @Value("${jwt.status-cache.habilitado:true}")
+    private boolean verificarStatus;
 
     // This method is called for every incoming request.
     @Override
@@ -35,7 +45,7 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Get the Authorization header from the request.
         final String authHeader = request.getHeader("Authorization");
         final String jwt;
-        final String username;
+        final Claims claims;
 
         // Check if the header exists and starts with "Bearer ".
         if (authHeader == null || !authHeader.startsWith("Bearer ")) {
@@ -43,26 +53,25 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
             return;
         }
 
-        // Extract the JWT and try to get the username.
+        // Extract the JWT and verify it exactly once (signature + expiration).
         jwt = authHeader.substring(7);
         try {
-            username = jwtUtil.extractUsername(jwt);
-        } catch (ExpiredJwtException e) {
-            // If the token is expired, continue the filter chain without authentication.
+            claims = jwtUtil.validarToken(jwt);
+        } catch (JwtException | IllegalArgumentException e) {
+            // If the token is expired or invalid, continue the filter chain without authentication.
             filterChain.doFilter(request, response);
             return;
         }
 
         // Check if the username exists and if there is no current authentication in the security context.
+        final String username = claims.getSubject();
         if (username != null && SecurityContextHolder.getContext().getAuthentication() == null) {
-            var userDetails = userDetailsService.loadUserByUsername(username);
-            
-            // Validate the token against the user details.
-            if (jwtUtil.isTokenValid(jwt, userDetails)) {
-                
+            UsuarioPrincipal principal = statelessPrincipal ? principalDosClaims(claims) : principalDoBanco(claims);
+
+            if (principal != null) {
                 // Create an authentication token.
                 UsernamePasswordAuthenticationToken authToken = new UsernamePasswordAuthenticationToken(
-                        userDetails, null, userDetails.getAuthorities());
+                        principal, null, principal.getAuthorities());
                 
                 // Set authentication details and update the security context.
                 authToken.setDetails(new WebAuthenticationDetailsSource().buildDetails(request));
@@ -73,4 +82,22 @@ public class JwtAuthenticationFilter extends OncePerRequestFilter {
         // Continue to the next filter in the chain.
         filterChain.doFilter(request, response);
     }
+
+    // Trusts the signed claims; only the (cached) active flag may still reject the user.
+    private UsuarioPrincipal principalDosClaims(Claims claims) {
+        UsuarioPrincipal principal = UsuarioPrincipal.deClaims(claims);
+        if (verificarStatus && !usuarioStatusCache.isAtivo(principal.getUserId())) {
+            return null;
+        }
+        return principal;
+    }
+
+    // Legacy mode: loads the user from the database and uses its current authorities.
+    private UsuarioPrincipal principalDoBanco(Claims claims) {
+        var userDetails = userDetailsService.loadUserByUsername(claims.getSubject());
+        if (!jwtUtil.isTokenValid(claims, userDetails)) {
+            return null;
+        }
+        return UsuarioPrincipal.deClaims(claims, userDetails.getAuthorities());
+    }
 }
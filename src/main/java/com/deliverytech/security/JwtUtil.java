@@ -1,15 +1,21 @@
 package com.deliverytech.security;
 
 import com.deliverytech.entity.Usuario;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
 import io.jsonwebtoken.*;
 import io.jsonwebtoken.security.Keys;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.security.core.userdetails.UserDetails;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
 import java.security.Key;
 import java.util.Date;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 
 @Component
@@ -17,6 +23,22 @@ public class JwtUtil {
 
     private final String SECRET_KEY = "super-secret-key-para-assinatura-jwt-muito-segura-e-grande-256bits";
 
+    // A chave e o parser são imutáveis e thread-safe: criados uma única vez
+    private final Key signKey = Keys.hmacShaKeyFor(SECRET_KEY.getBytes(StandardCharsets.UTF_8));
+    private final JwtParser parser = Jwts.parserBuilder().setSigningKey(signKey).build();
+
+    // Tokens já verificados -> claims; cada entrada expira junto com o próprio token (null = cache desativado)
+    private final Cache<String, Claims> tokensVerificados;
+
+    public JwtUtil(@Value("${jwt.cache.tamanho-maximo:10000}") long tamanhoMaximoCache) {
+        this.tokensVerificados = tamanhoMaximoCache > 0
+                ? Caffeine.newBuilder()
+                        .maximumSize(tamanhoMaximoCache)
+                        .expireAfter(new ExpiraComToken())
+                        .build()
+                : null;
+    }
+
     public String extractUsername(String token) {
         return extractClaim(token, Claims::getSubject);
     }
@@ -26,12 +48,28 @@ public class JwtUtil {
         return claimsResolver.apply(claims);
     }
 
-    private Claims extractAllClaims(String token) {
-        return Jwts.parserBuilder().setSigningKey(getSignKey()).build().parseClaimsJws(token).getBody();
+    /**
+     * Valida assinatura e expiração do token uma única vez e devolve os claims.
+     * Chamadas seguintes com o mesmo token são atendidas pelo cache, sem novo HMAC.
+     *
+     * @throws JwtException se o token for inválido, adulterado ou estiver expirado
+     */
+    public Claims validarToken(String token) {
+        return extractAllClaims(token);
     }
 
-    private Key getSignKey() {
-        return Keys.hmacShaKeyFor(SECRET_KEY.getBytes());
+    private Claims extractAllClaims(String token) {
+        if (tokensVerificados == null) {
+            return parser.parseClaimsJws(token).getBody();
+        }
+        Claims claims = tokensVerificados.getIfPresent(token);
+        if (claims != null) {
+            return claims;
+        }
+        // parseClaimsJws já rejeita tokens expirados (ExpiredJwtException)
+        claims = parser.parseClaimsJws(token).getBody();
+        tokensVerificados.put(token, claims);
+        return claims;
     }
 
     public String generateToken(UserDetails userDetails, Usuario usuario) {
@@ -53,16 +91,47 @@ public class JwtUtil {
                 .setSubject(subject)
                 .setIssuedAt(new Date(System.currentTimeMillis()))
                 .setExpiration(new Date(System.currentTimeMillis() + expiration))
-                .signWith(getSignKey(), SignatureAlgorithm.HS256)
+                .signWith(signKey, SignatureAlgorithm.HS256)
                 .compact();
     }
 
     public boolean isTokenValid(String token, UserDetails userDetails) {
-        final String username = extractUsername(token);
-        return username.equals(userDetails.getUsername()) && !isTokenExpired(token);
+        return isTokenValid(extractAllClaims(token), userDetails);
     }
 
-    private boolean isTokenExpired(String token) {
-        return extractClaim(token, Claims::getExpiration).before(new Date());
+    // Validação sobre claims já verificados, sem parsear o token de novo
+    public boolean isTokenValid(Claims claims, UserDetails userDetails) {
+        return claims.getSubject().equals(userDetails.getUsername()) && !isTokenExpired(claims);
+    }
+
+    private boolean isTokenExpired(Claims claims) {
+        Date expiracao = claims.getExpiration();
+        return expiracao != null && expiracao.before(new Date());
+    }
+
+    /**
+     * Política de expiração do cache: a entrada vive apenas até o "exp" do token.
+     */
+    private static class ExpiraComToken implements Expiry<String, Claims> {
+
+        @Override
+        public long expireAfterCreate(String token, Claims claims, long currentTime) {
+            Date expiracao = claims.getExpiration();
+            if (expiracao == null) {
+                return 0;
+            }
+            long restanteMs = expiracao.getTime() - System.currentTimeMillis();
+            return TimeUnit.MILLISECONDS.toNanos(Math.max(0, restanteMs));
+        }
+
+        @Override
+        public long expireAfterUpdate(String token, Claims claims, long currentTime, long currentDuration) {
+            return expireAfterCreate(token, claims, currentTime);
+        }
+
+        @Override
+        public long expireAfterRead(String token, Claims claims, long currentTime, long currentDuration) {
+            return currentDuration;
+        }
     }
 }
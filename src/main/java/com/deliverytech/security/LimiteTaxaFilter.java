@@ -0,0 +1,136 @@
+package com.deliverytech.security;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Limite de taxa por cliente (token bucket), executado na cadeia do Spring Security logo depois
+ * do JwtAuthenticationFilter.
+ *
+ * Requisições autenticadas são contadas pelo userId do token; as anônimas, pelo IP. O login tem
+ * um balde próprio e bem menor, por IP, porque cada tentativa custa uma verificação BCrypt.
+ * Os baldes ficam num Caffeine limitado em tamanho e somem após "ociosidade-minutos" sem uso
+ * (um balde ocioso já estaria cheio, então recriá-lo não muda o resultado).
+ * Acima do limite a resposta é 429 com Retry-After e o mesmo corpo JSON de erro do
+ * GlobalExceptionHandler (o filtro roda antes do DispatcherServlet, fora do alcance do advice).
+ */
+@Component
+public class LimiteTaxaFilter extends OncePerRequestFilter {
+
+    private static final String PREFIXO_API = "/api/";
+    private static final String LOGIN = "/api/auth/login";
+
+    private final boolean habilitado;
+    private final int capacidadeApi;
+    private final double porSegundoApi;
+    private final int capacidadeLogin;
+    private final double porSegundoLogin;
+    private final Cache<String, BaldeTokens> baldes;
+    private final Counter rejeitadasApi;
+    private final Counter rejeitadasLogin;
+    private final ObjectMapper objectMapper;
+
+    public LimiteTaxaFilter(@Value("${limite-taxa.habilitado:true}") boolean habilitado,
+                            @Value("${limite-taxa.api.capacidade:100}") int capacidadeApi,
+                            @Value("${limite-taxa.api.por-segundo:50}") double porSegundoApi,
+                            @Value("${limite-taxa.login.capacidade:5}") int capacidadeLogin,
+                            @Value("${limite-taxa.login.por-segundo:0.2}") double porSegundoLogin,
+                            @Value("${limite-taxa.maximo-clientes:100000}") long maximoClientes,
+                            @Value("${limite-taxa.ociosidade-minutos:10}") long ociosidadeMinutos,
+                            MeterRegistry meterRegistry,
+                            ObjectMapper objectMapper) {
+        this.habilitado = habilitado;
+        this.capacidadeApi = capacidadeApi;
+        this.porSegundoApi = porSegundoApi;
+        this.capacidadeLogin = capacidadeLogin;
+        this.porSegundoLogin = porSegundoLogin;
+        this.baldes = Caffeine.newBuilder()
+                .maximumSize(maximoClientes)
+                .expireAfterAccess(Duration.ofMinutes(ociosidadeMinutos))
+                .build();
+        this.rejeitadasApi = rejeitadas(meterRegistry, "api");
+        this.rejeitadasLogin = rejeitadas(meterRegistry, "login");
+        this.objectMapper = objectMapper;
+        Gauge.builder("limite_taxa_baldes", baldes, Cache::estimatedSize)
+                .description("Clientes com balde de limite de taxa ativo")
+                .register(meterRegistry);
+    }
+
+    private static Counter rejeitadas(MeterRegistry meterRegistry, String politica) {
+        return Counter.builder("limite_taxa_rejeitadas_total")
+                .description("Requisições recusadas com 429 pelo limite de taxa")
+                .tag("politica", politica)
+                .register(meterRegistry);
+    }
+
+    @Override
+    protected boolean shouldNotFilter(HttpServletRequest request) {
+        return !habilitado || !request.getRequestURI().startsWith(PREFIXO_API);
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        boolean login = LOGIN.equals(request.getRequestURI());
+        String chave = login ? "login:" + request.getRemoteAddr() : chaveCliente(request);
+
+        long agora = System.nanoTime();
+        BaldeTokens balde = baldes.get(chave, c -> login
+                ? new BaldeTokens(capacidadeLogin, porSegundoLogin, agora)
+                : new BaldeTokens(capacidadeApi, porSegundoApi, agora));
+        long esperaNanos = balde.consumir(agora);
+
+        if (esperaNanos > 0) {
+            (login ? rejeitadasLogin : rejeitadasApi).increment();
+            rejeitar(response, Math.max(1, TimeUnit.NANOSECONDS.toSeconds(esperaNanos + 999_999_999L)));
+            return;
+        }
+        filterChain.doFilter(request, response);
+    }
+
+    private void rejeitar(HttpServletResponse response, long retryAfterSegundos) throws IOException {
+        Map<String, Object> body = new HashMap<>();
+        body.put("timestamp", LocalDateTime.now());
+        body.put("status", HttpStatus.TOO_MANY_REQUESTS.value());
+        body.put("error", "Too Many Requests");
+        body.put("message", "Limite de requisições excedido. Tente novamente em " + retryAfterSegundos + " segundo(s).");
+
+        response.setStatus(HttpStatus.TOO_MANY_REQUESTS.value());
+        response.setHeader(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSegundos));
+        response.setContentType(MediaType.APPLICATION_JSON_VALUE);
+        response.setCharacterEncoding("UTF-8");
+        objectMapper.writeValue(response.getOutputStream(), body);
+    }
+
+    private static String chaveCliente(HttpServletRequest request) {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        if (autenticacao != null && autenticacao.getPrincipal() instanceof UsuarioPrincipal usuario
+                && usuario.getUserId() != null) {
+            return "usuario:" + usuario.getUserId();
+        }
+        return "ip:" + request.getRemoteAddr();
+    }
+}
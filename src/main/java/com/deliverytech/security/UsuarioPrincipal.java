@@ -0,0 +1,88 @@
+package com.deliverytech.security;
+
+import io.jsonwebtoken.Claims;
+import lombok.Getter;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.core.authority.SimpleGrantedAuthority;
+import org.springframework.security.core.userdetails.UserDetails;
+
+import java.util.Collection;
+import java.util.Collections;
+
+/**
+ * Usuário autenticado, montado a partir dos claims de um JWT já verificado.
+ * Carrega userId, role e restauranteId para que os controllers não precisem consultar o banco.
+ */
+@Getter
+public class UsuarioPrincipal implements UserDetails {
+
+    private final Long userId;
+    private final String email;
+    private final String role;
+    private final Long restauranteId;
+    private final Collection<? extends GrantedAuthority> authorities;
+
+    public UsuarioPrincipal(Long userId, String email, String role, Long restauranteId,
+                            Collection<? extends GrantedAuthority> authorities) {
+        this.userId = userId;
+        this.email = email;
+        this.role = role;
+        this.restauranteId = restauranteId;
+        this.authorities = authorities;
+    }
+
+    /**
+     * Monta o principal apenas com os claims, usando a role do token como autoridade.
+     */
+    public static UsuarioPrincipal deClaims(Claims claims) {
+        String role = claims.get("role", String.class);
+        return deClaims(claims, role != null
+                ? Collections.singletonList(new SimpleGrantedAuthority("ROLE_" + role))
+                : Collections.emptyList());
+    }
+
+    public static UsuarioPrincipal deClaims(Claims claims, Collection<? extends GrantedAuthority> authorities) {
+        return new UsuarioPrincipal(
+                comoLong(claims.get("userId")),
+                claims.getSubject(),
+                claims.get("role", String.class),
+                comoLong(claims.get("restauranteId")),
+                authorities);
+    }
+
+    // O Jackson desserializa números pequenos como Integer, então normalizamos para Long
+    private static Long comoLong(Object valor) {
+        return (valor instanceof Number numero) ? numero.longValue() : null;
+    }
+
+    @Override
+    public String getUsername() {
+        return email;
+    }
+
+    // A senha nunca trafega no token
+    @Override
+    public String getPassword() {
+        return null;
+    }
+
+    @Override
+    public boolean isAccountNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isAccountNonLocked() {
+        return true;
+    }
+
+    @Override
+    public boolean isCredentialsNonExpired() {
+        return true;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+}
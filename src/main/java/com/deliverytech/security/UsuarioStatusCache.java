@@ -0,0 +1,45 @@
+package com.deliverytech.security;
+
+import com.deliverytech.repository.UsuarioRepository;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+
+/**
+ * Cache de curta duração do status (ativo/inativo) dos usuários.
+ * No modo de autenticação stateless, garante que um usuário desativado seja recusado
+ * em no máximo "ttl" segundos, sem uma consulta ao banco por requisição.
+ */
+@Component
+public class UsuarioStatusCache {
+
+    private final UsuarioRepository usuarioRepository;
+    private final LoadingCache<Long, Boolean> statusPorUsuario;
+
+    public UsuarioStatusCache(UsuarioRepository usuarioRepository,
+                              @Value("${jwt.status-cache.ttl-segundos:30}") long ttlSegundos,
+                              @Value("${jwt.status-cache.tamanho-maximo:50000}") long tamanhoMaximo) {
+        this.usuarioRepository = usuarioRepository;
+        this.statusPorUsuario = Caffeine.newBuilder()
+                .maximumSize(tamanhoMaximo)
+                .expireAfterWrite(Duration.ofSeconds(ttlSegundos))
+                .build(this::carregarStatus);
+    }
+
+    public boolean isAtivo(Long userId) {
+        return userId != null && statusPorUsuario.get(userId);
+    }
+
+    // Deve ser chamado quando o status de um usuário mudar, para valer imediatamente neste nó
+    public void invalidar(Long userId) {
+        statusPorUsuario.invalidate(userId);
+    }
+
+    private Boolean carregarStatus(Long userId) {
+        // Usuário removido conta como inativo
+        return usuarioRepository.buscarAtivoPorId(userId).orElse(false);
+    }
+}
@@ -0,0 +1,15 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.entity.Produto;
+
+import java.util.List;
+
+public interface BuscaProdutoService {
+    // Busca por nome, descrição e categoria; cada palavra do termo casa por prefixo e sem acentos
+    List<ProdutoResponse> buscar(String termo, Boolean disponivel, Long restauranteId, int limite);
+    // Inclui ou atualiza o produto no índice (chamado pelo ProdutoServiceImpl a cada gravação)
+    void indexar(Produto produto);
+    // Mesmo efeito para vários produtos, com uma mensagem aos outros nós por bloco de IDs
+    void indexarEmLote(List<Produto> produtos);
+}
@@ -0,0 +1,10 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.CardapioSnapshot;
+
+public interface CardapioService {
+    // Retorna o snapshot do cardápio do restaurante, montando-o apenas se não estiver em cache
+    CardapioSnapshot obter(Long restauranteId);
+    // Descarta o snapshot; chamado sempre que um produto do restaurante é alterado
+    void invalidar(Long restauranteId);
+}
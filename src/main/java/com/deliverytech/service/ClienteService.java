@@ -7,6 +7,8 @@ public interface ClienteService {
     Cliente cadastrar(Cliente cliente);
     // CORREÇÃO AQUI: Retorna a entidade diretamente
     Cliente buscarPorId(Long id);
+    // Versão atual direto do banco (null se o cliente não existe)
+    Long buscarVersao(Long id);
     List<Cliente> listarAtivos();
     Cliente atualizar(Long id, Cliente clienteAtualizado);
     void ativarDesativar(Long id);
@@ -0,0 +1,16 @@
+package com.deliverytech.service;
+
+import org.springframework.http.ResponseEntity;
+
+import java.util.function.Supplier;
+
+public interface IdempotenciaService {
+
+    String HEADER = "Idempotency-Key";
+
+    /**
+     * Executa a ação uma única vez por chave (por usuário). Repetições com a mesma chave e o mesmo
+     * corpo recebem a resposta original; repetições concorrentes esperam a primeira terminar.
+     */
+    ResponseEntity<?> executar(String chave, Long usuarioId, Object requisicao, Supplier<ResponseEntity<?>> acao);
+}
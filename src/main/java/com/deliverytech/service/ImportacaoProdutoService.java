@@ -0,0 +1,14 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.ImportacaoProdutosResponse;
+
+import java.io.IOException;
+import java.io.InputStream;
+
+public interface ImportacaoProdutoService {
+
+    enum Formato { NDJSON, CSV }
+
+    // Lê o arquivo linha a linha, valida cada produto e grava em lotes; não carrega o arquivo inteiro
+    ImportacaoProdutosResponse importar(InputStream conteudo, Formato formato) throws IOException;
+}
@@ -0,0 +1,20 @@
+package com.deliverytech.service;
+
+/**
+ * Conjunto fixo de operações cuja latência é medida pelo MetricsService.
+ * Cada valor vira um Timer registrado uma única vez, na inicialização, alimentado pelo
+ * LatenciaAspect nos métodos anotados com @LatenciaNomeada.
+ */
+public enum MetricaLatencia {
+    BUSCAR_PEDIDO_ID("buscar_pedido_id");
+
+    private final String nome;
+
+    MetricaLatencia(String nome) {
+        this.nome = nome;
+    }
+
+    public String getNome() {
+        return nome;
+    }
+}
@@ -1,40 +1,51 @@
 package com.deliverytech.service;
 
+import com.deliverytech.entity.StatusPedido;
 import io.micrometer.core.instrument.Counter;
 import io.micrometer.core.instrument.MeterRegistry;
-import io.micrometer.core.instrument.Timer; // ✅ 1. IMPORTAR O TIMER
+import io.micrometer.core.instrument.Timer;
 import org.springframework.stereotype.Service;
 
-import java.util.concurrent.TimeUnit; // ✅ 2. IMPORTAR TIMEUNIT
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
 
 @Service
 public class MetricsService {
 
-    private final MeterRegistry meterRegistry;
+    // Medidores resolvidos uma única vez: no caminho quente só há um lookup em array (EnumMap)
+    private final Map<StatusPedido, Counter> pedidosProcessados = new EnumMap<>(StatusPedido.class);
+    private final Map<MetricaLatencia, Timer> latencias = new EnumMap<>(MetricaLatencia.class);
 
     public MetricsService(MeterRegistry meterRegistry) {
-        this.meterRegistry = meterRegistry;
+        for (StatusPedido status : StatusPedido.values()) {
+            pedidosProcessados.put(status, Counter.builder("pedidos_processados_total")
+                    .description("Total de pedidos processados pelo sistema")
+                    .tag("status", status.name())
+                    .register(meterRegistry));
+        }
+        for (MetricaLatencia metrica : MetricaLatencia.values()) {
+            latencias.put(metrica, Timer.builder(metrica.getNome() + "_latency_seconds")
+                    .description("Mede a latência de operações críticas")
+                    .register(meterRegistry));
+        }
     }
 
-    public void incrementarPedidosProcessados(String status) {
-        Counter.builder("pedidos_processados_total")
-            .description("Total de pedidos processados pelo sistema")
-            .tag("status", status)
-            .register(meterRegistry)
-            .increment();
+    public void incrementarPedidosProcessados(StatusPedido status) {
+        pedidosProcessados.get(status).increment();
     }
 
     /**
-     * ✅ 3. NOVO MÉTODO PARA REGISTRAR A LATÊNCIA
      * Registra o tempo de execução de uma operação.
      *
-     * @param nomeMetrica O nome da métrica do timer (ex: "buscar_pedido_id")
-     * @param tempoMs     O tempo de execução em milissegundos.
+     * @param metrica A operação medida (ex: MetricaLatencia.BUSCAR_PEDIDO_ID)
+     * @param tempoMs O tempo de execução em milissegundos.
      */
-    public void registrarLatencia(String nomeMetrica, long tempoMs) {
-        Timer.builder(nomeMetrica + "_latency_seconds")
-            .description("Mede a latência de operações críticas")
-            .register(meterRegistry)
-             .record(tempoMs, TimeUnit.MILLISECONDS); // Registra o tempo
+    public void registrarLatencia(MetricaLatencia metrica, long tempoMs) {
+        registrarLatencia(metrica, tempoMs, TimeUnit.MILLISECONDS);
     }
-}
\ No newline at end of file
+
+    public void registrarLatencia(MetricaLatencia metrica, long duracao, TimeUnit unidade) {
+        latencias.get(metrica).record(duracao, unidade);
+    }
+}
@@ -0,0 +1,8 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.PainelRestauranteResponse;
+
+public interface PainelRestauranteService {
+    // Lê os contadores mantidos em memória; não consulta o banco
+    PainelRestauranteResponse consultar(Long restauranteId);
+}
@@ -0,0 +1,13 @@
+package com.deliverytech.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+
+public interface PedidoExportacaoService {
+
+    enum Formato { NDJSON, CSV }
+
+    // Escreve os pedidos do restaurante no período [de, ate] direto na saída, sem materializar a lista
+    long exportar(Long restauranteId, LocalDate de, LocalDate ate, Formato formato, OutputStream saida) throws IOException;
+}
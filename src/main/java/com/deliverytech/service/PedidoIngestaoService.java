@@ -0,0 +1,15 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.IngestaoPedidoResponse;
+import com.deliverytech.entity.Pedido;
+
+import java.util.Optional;
+import java.util.UUID;
+
+public interface PedidoIngestaoService {
+    // Indica se o modo de ingestão assíncrona está ativo (pedidos.ingestao.assincrona)
+    boolean isHabilitada();
+    // Enfileira um pedido já validado e devolve o protocolo; lança ServicoIndisponivelException se a fila estiver cheia
+    UUID enfileirar(Pedido pedido);
+    Optional<IngestaoPedidoResponse> consultar(UUID protocolo);
+}
@@ -1,16 +1,25 @@
 package com.deliverytech.service;
 
+import com.deliverytech.dto.request.PedidoFiltroRequest;
+import com.deliverytech.dto.response.PedidoResponse;
 import com.deliverytech.entity.Pedido;
 import com.deliverytech.entity.StatusPedido;
+import org.springframework.data.domain.Slice;
 
 import java.util.List;
 
 public interface PedidoService {
     Pedido criar(Pedido pedido);
+    // Grava vários pedidos em uma única transação (usado pela ingestão assíncrona)
+    List<Pedido> criarEmLote(List<Pedido> pedidos);
     // CORREÇÃO AQUI: Retorna a entidade diretamente
     Pedido buscarPorId(Long id);
-    List<Pedido> listarPorCliente(Long clienteId);
-    List<Pedido> listarPorRestaurante(Long restauranteId);
-    Pedido atualizarStatus(Long id, StatusPedido status);
+    // Modelo de leitura: monta o DTO com um número constante de consultas, sem carregar entidades
+    PedidoResponse consultarPorId(Long id);
+    // Listagens paginadas por cursor (keyset), com filtros opcionais de status e período
+    Slice<PedidoResponse> listarPorCliente(Long clienteId, PedidoFiltroRequest filtro);
+    Slice<PedidoResponse> listarPorRestaurante(Long restauranteId, PedidoFiltroRequest filtro);
+    // Transição validada pela máquina de estados de StatusPedido; lança ConflitoException se não for permitida
+    void atualizarStatus(Long id, StatusPedido status);
     void cancelar(Long id);
 }
@@ -0,0 +1,9 @@
+package com.deliverytech.service;
+
+import com.deliverytech.security.UsuarioPrincipal;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+public interface PedidoStreamService {
+    // Abre um stream SSE com os eventos de pedido visíveis para o usuário autenticado
+    SseEmitter conectar(UsuarioPrincipal usuario);
+}
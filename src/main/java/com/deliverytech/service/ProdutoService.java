@@ -1,13 +1,21 @@
 package com.deliverytech.service;
 
 import com.deliverytech.entity.Produto;
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
 
 public interface ProdutoService {
     Produto cadastrar(Produto produto);
+    // Grava vários produtos em uma transação, limpando o cache uma única vez (importação em massa)
+    List<Produto> cadastrarEmLote(List<Produto> produtos);
     // Retorna a entidade diretamente ou lança uma exceção
     Produto buscarPorId(Long id);
+    // Versão atual direto do banco, sem passar pelo cache (null se o produto não existe)
+    Long buscarVersao(Long id);
+    // Busca vários produtos de uma vez, indexados pelo ID; lança exceção se algum não existir
+    Map<Long, Produto> buscarPorIds(Collection<Long> ids);
     List<Produto> buscarPorRestaurante(Long restauranteId);
     Produto atualizar(Long id, Produto produtoAtualizado);
     void alterarDisponibilidade(Long id, boolean disponivel);
-}
\ No newline at end of file
+}
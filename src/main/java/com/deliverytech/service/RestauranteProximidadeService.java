@@ -0,0 +1,14 @@
+package com.deliverytech.service;
+
+import com.deliverytech.dto.response.RestauranteProximoResponse;
+import com.deliverytech.entity.Restaurante;
+
+import java.util.List;
+
+public interface RestauranteProximidadeService {
+    // Os k restaurantes mais próximos dentro do raio, do mais perto para o mais longe
+    List<RestauranteProximoResponse> buscarProximos(double latitude, double longitude, int k, String categoria,
+                                                    boolean ativo, Integer tempoEntregaMaximo, double raioKm);
+    // Inclui, move ou remove (sem coordenadas) o restaurante no índice
+    void indexar(Restaurante restaurante);
+}
@@ -1,6 +1,7 @@
 package com.deliverytech.service;
 
 import com.deliverytech.entity.Restaurante;
+import com.deliverytech.repository.projection.RestaurantesVersaoView;
 import java.util.List;
 
 public interface RestauranteService {
@@ -9,7 +10,14 @@ public interface RestauranteService {
     // CORREÇÃO AQUI: A interface agora "promete" retornar a entidade diretamente.
     Restaurante buscarPorId(Long id);
 
+    // Versão atual direto do banco (null se o restaurante não existe)
+    Long buscarVersao(Long id);
+
     List<Restaurante> listarTodos();
+
+    // Carimbo de versão de listarTodos() calculado no banco (quantidade, soma das versões e maior id)
+    RestaurantesVersaoView buscarVersaoDaLista();
+
     List<Restaurante> buscarPorCategoria(String categoria);
     Restaurante atualizar(Long id, Restaurante restauranteAtualizado);
 }
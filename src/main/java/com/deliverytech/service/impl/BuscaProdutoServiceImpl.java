@@ -0,0 +1,228 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.cache.InvalidacaoCache;
+import com.deliverytech.cache.InvalidacaoCacheBarramento;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.entity.Produto;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.BuscaProdutoService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Índice invertido em memória sobre nome, descrição e categoria dos produtos.
+ *
+ * Os termos ficam num mapa ordenado (termo → IDs), então a busca por prefixo é um intervalo do
+ * mapa e não uma varredura. Termos e consultas passam pela mesma normalização: minúsculas, sem
+ * acentos ("pão" casa com "pao") e sem palavras vazias. Leituras não bloqueiam; as gravações,
+ * raras, são serializadas. Com o barramento de invalidação (perfil docker) os outros nós
+ * reindexam os produtos alterados: a mensagem leva os IDs separados por vírgula e quem recebe
+ * recarrega todos com uma consulta.
+ */
+@Slf4j
+@Service
+public class BuscaProdutoServiceImpl implements BuscaProdutoService {
+
+    private static final String CANAL = "busca-produtos";
+    private static final int LIMITE_MAXIMO = 100;
+    // IDs por mensagem no barramento ao indexar em lote
+    private static final int IDS_POR_MENSAGEM = 500;
+    private static final Pattern SEPARADORES = Pattern.compile("[^\\p{L}\\p{N}]+");
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Set<String> PALAVRAS_VAZIAS = Set.of(
+            "a", "o", "as", "os", "e", "de", "da", "do", "das", "dos", "com", "sem", "em", "no", "na", "para", "um", "uma");
+
+    private record Documento(ProdutoResponse produto, Long restauranteId, Set<String> termos, Set<String> termosDoNome) {}
+
+    private final ProdutoRepository produtoRepository;
+    private final InvalidacaoCacheBarramento barramento;
+    private final String idNo = UUID.randomUUID().toString();
+
+    private final Map<Long, Documento> documentos = new ConcurrentHashMap<>();
+    private final NavigableMap<String, Set<Long>> indice = new ConcurrentSkipListMap<>();
+
+    public BuscaProdutoServiceImpl(ProdutoRepository produtoRepository,
+                                   ObjectProvider<InvalidacaoCacheBarramento> barramento) {
+        this.produtoRepository = produtoRepository;
+        this.barramento = barramento.getIfAvailable();
+        if (this.barramento != null) {
+            this.barramento.inscrever(this::receberAlteracao);
+        }
+    }
+
+    @Override
+    public List<ProdutoResponse> buscar(String termo, Boolean disponivel, Long restauranteId, int limite) {
+        List<String> prefixos = new ArrayList<>(termos(termo));
+        if (prefixos.isEmpty()) {
+            throw new BusinessException("Informe ao menos uma palavra para a busca");
+        }
+
+        // Todas as palavras precisam casar (E); cada uma pode casar com vários termos (prefixo)
+        Set<Long> candidatos = null;
+        for (String prefixo : prefixos) {
+            Set<Long> ids = idsComPrefixo(prefixo);
+            if (candidatos == null) {
+                candidatos = ids;
+            } else {
+                candidatos.retainAll(ids);
+            }
+            if (candidatos.isEmpty()) {
+                return List.of();
+            }
+        }
+
+        List<Documento> encontrados = new ArrayList<>();
+        for (Long id : candidatos) {
+            Documento documento = documentos.get(id);
+            if (documento != null
+                    && (disponivel == null || documento.produto().isDisponivel() == disponivel)
+                    && (restauranteId == null || restauranteId.equals(documento.restauranteId()))) {
+                encontrados.add(documento);
+            }
+        }
+        // Produtos em que a palavra aparece no nome vêm primeiro
+        encontrados.sort(Comparator.comparingInt((Documento d) -> -relevancia(d, prefixos))
+                .thenComparing(d -> d.produto().getNome(), Comparator.nullsLast(String.CASE_INSENSITIVE_ORDER)));
+        return encontrados.stream()
+                .limit(Math.min(Math.max(limite, 1), LIMITE_MAXIMO))
+                .map(Documento::produto)
+                .toList();
+    }
+
+    @Override
+    public void indexar(Produto produto) {
+        atualizarIndice(produto);
+        if (barramento != null) {
+            barramento.publicar(new InvalidacaoCache(idNo, CANAL, String.valueOf(produto.getId())));
+        }
+    }
+
+    @Override
+    public void indexarEmLote(List<Produto> produtos) {
+        synchronized (this) {
+            produtos.forEach(this::atualizarIndice);
+        }
+        if (barramento == null) {
+            return;
+        }
+        for (int inicio = 0; inicio < produtos.size(); inicio += IDS_POR_MENSAGEM) {
+            String ids = produtos.subList(inicio, Math.min(inicio + IDS_POR_MENSAGEM, produtos.size())).stream()
+                    .map(produto -> String.valueOf(produto.getId()))
+                    .collect(Collectors.joining(","));
+            barramento.publicar(new InvalidacaoCache(idNo, CANAL, ids));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        List<Produto> produtos = produtoRepository.findAll();
+        produtos.forEach(this::atualizarIndice);
+        log.info("Índice de busca montado com {} produtos e {} termos", produtos.size(), indice.size());
+    }
+
+    private void receberAlteracao(InvalidacaoCache mensagem) {
+        if (!CANAL.equals(mensagem.cache()) || idNo.equals(mensagem.origem()) || mensagem.chave() == null) {
+            return;
+        }
+        List<Long> ids = Arrays.stream(mensagem.chave().split(","))
+                .map(Long::valueOf)
+                .toList();
+        List<Produto> produtos = produtoRepository.findAllById(ids);
+        synchronized (this) {
+            produtos.forEach(this::atualizarIndice);
+        }
+    }
+
+    private synchronized void atualizarIndice(Produto produto) {
+        Set<String> termosDoNome = termos(produto.getNome());
+        Set<String> termos = new HashSet<>(termosDoNome);
+        termos.addAll(termos(produto.getDescricao()));
+        termos.addAll(termos(produto.getCategoria()));
+        Long restauranteId = produto.getRestaurante() != null ? produto.getRestaurante().getId() : null;
+
+        Documento anterior = documentos.put(produto.getId(),
+                new Documento(ProdutoResponse.de(produto), restauranteId, termos, termosDoNome));
+        if (anterior != null) {
+            for (String termo : anterior.termos()) {
+                if (!termos.contains(termo)) {
+                    removerDoTermo(termo, produto.getId());
+                }
+            }
+        }
+        for (String termo : termos) {
+            indice.computeIfAbsent(termo, t -> ConcurrentHashMap.newKeySet()).add(produto.getId());
+        }
+    }
+
+    private void removerDoTermo(String termo, Long id) {
+        Set<Long> ids = indice.get(termo);
+        if (ids != null) {
+            ids.remove(id);
+            if (ids.isEmpty()) {
+                indice.remove(termo, ids);
+            }
+        }
+    }
+
+    private Set<Long> idsComPrefixo(String prefixo) {
+        Set<Long> ids = new HashSet<>();
+        for (Set<Long> postagens : indice.subMap(prefixo, true, prefixo + Character.MAX_VALUE, false).values()) {
+            ids.addAll(postagens);
+        }
+        return ids;
+    }
+
+    private static int relevancia(Documento documento, Collection<String> prefixos) {
+        int pontos = 0;
+        for (String prefixo : prefixos) {
+            for (String termo : documento.termosDoNome()) {
+                if (termo.startsWith(prefixo)) {
+                    pontos += termo.length() == prefixo.length() ? 2 : 1;
+                    break;
+                }
+            }
+        }
+        return pontos;
+    }
+
+    // Minúsculas, sem acentos e sem palavras vazias: "Pão de Queijo" → [pao, queijo]
+    private static Set<String> termos(String texto) {
+        if (texto == null || texto.isBlank()) {
+            return Set.of();
+        }
+        String normalizado = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(texto, Normalizer.Form.NFD))
+                .replaceAll("")
+                .toLowerCase(Locale.ROOT);
+        Set<String> termos = new LinkedHashSet<>();
+        for (String termo : SEPARADORES.split(normalizado)) {
+            if (!termo.isEmpty() && !PALAVRAS_VAZIAS.contains(termo)) {
+                termos.add(termo);
+            }
+        }
+        return termos;
+    }
+}
@@ -0,0 +1,133 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.CardapioSnapshot;
+import com.deliverytech.dto.response.ProdutoResponse;
+import com.deliverytech.entity.Produto;
+import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.repository.projection.CardapioVersaoView;
+import com.deliverytech.service.CardapioService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.util.DigestUtils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Snapshots dos cardápios guardados no cache "cardapios" (no perfil docker: L1 local + Redis,
+ * com invalidação entre nós). O cardápio é lido milhares de vezes para cada alteração, então
+ * a consulta, a serialização e a compressão acontecem uma vez por alteração, não por requisição.
+ *
+ * Uma montagem concorrente com uma alteração (neste ou em outro nó) pode guardar o snapshot antigo
+ * depois da invalidação. Por isso, depois de guardar, o carimbo de versão dos produtos usados é
+ * comparado com o do banco, e o snapshot é removido se o cardápio já mudou.
+ */
+@Service
+public class CardapioServiceImpl implements CardapioService {
+
+    public static final String CACHE_CARDAPIOS = "cardapios";
+
+    private final ProdutoRepository produtoRepository;
+    private final CacheManager cacheManager;
+    private final ObjectMapper objectMapper;
+    private final boolean gzipHabilitado;
+
+    public CardapioServiceImpl(ProdutoRepository produtoRepository,
+                               CacheManager cacheManager,
+                               ObjectMapper objectMapper,
+                               @Value("${cardapio.snapshot.gzip:true}") boolean gzipHabilitado) {
+        this.produtoRepository = produtoRepository;
+        this.cacheManager = cacheManager;
+        this.objectMapper = objectMapper;
+        this.gzipHabilitado = gzipHabilitado;
+    }
+
+    // Sem transação de propósito: com REPEATABLE READ (MySQL) a conferência do carimbo dentro da
+    // mesma transação veria o mesmo instante da leitura dos produtos e nunca detectaria a alteração
+    @Override
+    public CardapioSnapshot obter(Long restauranteId) {
+        Cache cache = cacheManager.getCache(CACHE_CARDAPIOS);
+        CardapioSnapshot snapshot = cache != null ? cache.get(restauranteId, CardapioSnapshot.class) : null;
+        if (snapshot != null) {
+            return snapshot;
+        }
+        List<Produto> produtos = produtoRepository.findByRestauranteId(restauranteId);
+        snapshot = montar(restauranteId, produtos);
+        if (cache != null) {
+            cache.put(restauranteId, snapshot);
+            if (!versaoDe(produtos).equals(produtoRepository.buscarVersaoDoCardapio(restauranteId))) {
+                cache.evict(restauranteId);
+            }
+        }
+        return snapshot;
+    }
+
+    // Dentro de uma transação, só depois do commit: antes dele a próxima montagem ainda leria o cardápio antigo.
+    // afterCompletion e não afterCommit: quem chama pode já estar num afterCommit (ProdutoServiceImpl.cadastrarEmLote),
+    // e o Spring não dispara os afterCommit registrados nessa fase; os afterCompletion, sim
+    @Override
+    public void invalidar(Long restauranteId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == STATUS_COMMITTED) {
+                        remover(restauranteId);
+                    }
+                }
+            });
+        } else {
+            remover(restauranteId);
+        }
+    }
+
+    private void remover(Long restauranteId) {
+        Cache cache = cacheManager.getCache(CACHE_CARDAPIOS);
+        if (cache != null) {
+            cache.evict(restauranteId);
+        }
+    }
+
+    // Mesmo carimbo de ProdutoRepository.buscarVersaoDoCardapio, calculado sobre os produtos lidos
+    private static CardapioVersaoView versaoDe(List<Produto> produtos) {
+        long somaVersoes = 0;
+        long maiorId = 0;
+        for (Produto produto : produtos) {
+            somaVersoes += produto.getVersao() != null ? produto.getVersao() : 0L;
+            maiorId = Math.max(maiorId, produto.getId());
+        }
+        return new CardapioVersaoView((long) produtos.size(), somaVersoes, maiorId);
+    }
+
+    private CardapioSnapshot montar(Long restauranteId, List<Produto> entidades) {
+        List<ProdutoResponse> produtos = entidades.stream()
+                .map(ProdutoResponse::de)
+                .toList();
+        try {
+            byte[] json = objectMapper.writeValueAsBytes(produtos);
+            String etag = DigestUtils.md5DigestAsHex(json);
+            return new CardapioSnapshot(etag, json, gzipHabilitado ? comprimir(json) : null);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar o cardápio do restaurante " + restauranteId, e);
+        }
+    }
+
+    private static byte[] comprimir(byte[] dados) {
+        ByteArrayOutputStream saida = new ByteArrayOutputStream(Math.max(64, dados.length / 4));
+        try (GZIPOutputStream gzip = new GZIPOutputStream(saida)) {
+            gzip.write(dados);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return saida.toByteArray();
+    }
+}
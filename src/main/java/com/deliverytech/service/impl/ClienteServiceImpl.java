@@ -1,5 +1,6 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.cache.EtagCache;
 import com.deliverytech.entity.Cliente;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.repository.ClienteRepository;
@@ -14,6 +15,7 @@ import java.util.List;
 public class ClienteServiceImpl implements ClienteService {
 
     private final ClienteRepository clienteRepository;
+    private final EtagCache etagCache;
 
     @Override
     public Cliente cadastrar(Cliente cliente) {
@@ -27,6 +29,11 @@ public class ClienteServiceImpl implements ClienteService {
                 .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado com o ID: " + id));
     }
 
+    @Override
+    public Long buscarVersao(Long id) {
+        return clienteRepository.buscarVersaoPorId(id).orElse(null);
+    }
+
     @Override
     public List<Cliente> listarAtivos() {
         return clienteRepository.findByAtivoTrue();
@@ -43,7 +50,9 @@ public class ClienteServiceImpl implements ClienteService {
         existente.setTelefone(atualizado.getTelefone());
         existente.setEndereco(atualizado.getEndereco());
         
-        return clienteRepository.save(existente);
+        Cliente salvo = clienteRepository.save(existente);
+        etagCache.invalidar(EtagCache.chave(EtagCache.CLIENTE, id));
+        return salvo;
     }
 
     @Override
@@ -52,5 +61,6 @@ public class ClienteServiceImpl implements ClienteService {
         // Correção aqui: usa isAtivo() para boolean
         cliente.setAtivo(!cliente.isAtivo());
         clienteRepository.save(cliente);
+        etagCache.invalidar(EtagCache.chave(EtagCache.CLIENTE, id));
     }
 }
@@ -0,0 +1,200 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.exception.ConflitoException;
+import com.deliverytech.exception.IdempotenciaException;
+import com.deliverytech.idempotencia.ArmazenamentoIdempotencia;
+import com.deliverytech.idempotencia.RegistroIdempotencia;
+import com.deliverytech.service.IdempotenciaService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import java.net.URI;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.HexFormat;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Idempotency-Key para requisições que criam recursos.
+ *
+ * A primeira requisição com uma chave reserva a chave no armazenamento, executa a ação e guarda
+ * a resposta (só respostas 2xx; em caso de erro a reserva é liberada e a tentativa seguinte
+ * processa de novo). Duplicatas concorrentes no mesmo nó esperam o resultado da primeira em
+ * memória; duplicatas em outros nós consultam o armazenamento até a resposta ficar pronta.
+ * Esperas além de "espera-maxima-ms" recebem 409.
+ */
+@Service
+public class IdempotenciaServiceImpl implements IdempotenciaService {
+
+    private static final int TAMANHO_MAXIMO_CHAVE = 255;
+    private static final long INTERVALO_CONSULTA_MS = 50;
+    private static final String HEADER_REPETIDA = "Idempotent-Replayed";
+
+    private final ArmazenamentoIdempotencia armazenamento;
+    private final ObjectMapper objectMapper;
+    private final Duration esperaMaxima;
+    private final Counter repeticoes;
+
+    // Requisições em processamento neste nó, para as duplicatas esperarem sem consultar o armazenamento
+    private final Map<String, CompletableFuture<RegistroIdempotencia>> emAndamento = new ConcurrentHashMap<>();
+
+    public IdempotenciaServiceImpl(ArmazenamentoIdempotencia armazenamento,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${idempotencia.espera-maxima-ms:10000}") long esperaMaximaMs) {
+        this.armazenamento = armazenamento;
+        this.objectMapper = objectMapper;
+        this.esperaMaxima = Duration.ofMillis(esperaMaximaMs);
+        this.repeticoes = Counter.builder("idempotencia_repeticoes_total")
+                .description("Requisições respondidas com a resposta já gravada para a mesma Idempotency-Key")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public ResponseEntity<?> executar(String chave, Long usuarioId, Object requisicao, Supplier<ResponseEntity<?>> acao) {
+        if (chave.isBlank() || chave.length() > TAMANHO_MAXIMO_CHAVE) {
+            throw new BusinessException("Idempotency-Key deve ter entre 1 e " + TAMANHO_MAXIMO_CHAVE + " caracteres");
+        }
+        // A chave vale por usuário: clientes diferentes podem gerar o mesmo valor
+        String chaveCompleta = (usuarioId != null ? usuarioId : "anonimo") + ":" + chave;
+        String impressaoDigital = impressaoDigital(requisicao);
+
+        CompletableFuture<RegistroIdempotencia> proprio = new CompletableFuture<>();
+        CompletableFuture<RegistroIdempotencia> existente = emAndamento.putIfAbsent(chaveCompleta, proprio);
+        if (existente != null) {
+            return repetir(aguardar(existente), impressaoDigital);
+        }
+        try {
+            Optional<RegistroIdempotencia> anterior = reservarOuAguardar(chaveCompleta, impressaoDigital);
+            if (anterior.isPresent()) {
+                proprio.complete(anterior.get());
+                return repetir(anterior.get(), impressaoDigital);
+            }
+            ResponseEntity<?> resposta;
+            try {
+                resposta = acao.get();
+            } catch (RuntimeException e) {
+                armazenamento.liberar(chaveCompleta);
+                throw e;
+            }
+            RegistroIdempotencia registro = registrar(impressaoDigital, resposta);
+            if (resposta.getStatusCode().is2xxSuccessful()) {
+                armazenamento.concluir(chaveCompleta, registro);
+            } else {
+                armazenamento.liberar(chaveCompleta);
+            }
+            proprio.complete(registro);
+            return resposta;
+        } catch (RuntimeException e) {
+            proprio.completeExceptionally(e);
+            throw e;
+        } finally {
+            emAndamento.remove(chaveCompleta, proprio);
+        }
+    }
+
+    /**
+     * Reserva a chave ou, se outra requisição (de qualquer nó) já a reservou, espera a resposta dela.
+     */
+    private Optional<RegistroIdempotencia> reservarOuAguardar(String chave, String impressaoDigital) {
+        long limite = System.nanoTime() + esperaMaxima.toNanos();
+        while (true) {
+            if (armazenamento.reservar(chave, RegistroIdempotencia.emAndamento(impressaoDigital))) {
+                return Optional.empty();
+            }
+            Optional<RegistroIdempotencia> atual = armazenamento.buscar(chave);
+            if (atual.isPresent()) {
+                if (!impressaoDigital.equals(atual.get().impressaoDigital())) {
+                    throw corpoDiferente();
+                }
+                if (atual.get().concluido()) {
+                    return atual;
+                }
+            }
+            // Entre o reservar e o buscar a reserva pode ter sido liberada: tenta de novo
+            if (System.nanoTime() > limite) {
+                throw emProcessamento();
+            }
+            try {
+                Thread.sleep(INTERVALO_CONSULTA_MS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw emProcessamento();
+            }
+        }
+    }
+
+    private RegistroIdempotencia aguardar(CompletableFuture<RegistroIdempotencia> primeira) {
+        try {
+            return primeira.get(esperaMaxima.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            // A primeira tentativa falhou: a duplicata recebe o mesmo erro
+            if (e.getCause() instanceof RuntimeException causa) {
+                throw causa;
+            }
+            throw new IllegalStateException(e.getCause());
+        } catch (TimeoutException e) {
+            throw emProcessamento();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw emProcessamento();
+        }
+    }
+
+    private ResponseEntity<byte[]> repetir(RegistroIdempotencia registro, String impressaoDigital) {
+        if (!impressaoDigital.equals(registro.impressaoDigital())) {
+            throw corpoDiferente();
+        }
+        repeticoes.increment();
+        ResponseEntity.BodyBuilder resposta = ResponseEntity.status(registro.status())
+                .contentType(MediaType.APPLICATION_JSON)
+                .header(HEADER_REPETIDA, "true");
+        if (registro.location() != null) {
+            resposta.location(URI.create(registro.location()));
+        }
+        return resposta.body(registro.corpo());
+    }
+
+    private RegistroIdempotencia registrar(String impressaoDigital, ResponseEntity<?> resposta) {
+        try {
+            URI location = resposta.getHeaders().getLocation();
+            return new RegistroIdempotencia(impressaoDigital, true, resposta.getStatusCode().value(),
+                    location != null ? location.toString() : null,
+                    objectMapper.writeValueAsBytes(resposta.getBody()));
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Falha ao serializar a resposta para a Idempotency-Key", e);
+        }
+    }
+
+    private String impressaoDigital(Object requisicao) {
+        try {
+            MessageDigest sha256 = MessageDigest.getInstance("SHA-256");
+            return HexFormat.of().formatHex(sha256.digest(objectMapper.writeValueAsBytes(requisicao)));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Falha ao calcular a impressão digital da requisição", e);
+        }
+    }
+
+    private static IdempotenciaException corpoDiferente() {
+        return new IdempotenciaException("Idempotency-Key já utilizada com um corpo de requisição diferente");
+    }
+
+    private static ConflitoException emProcessamento() {
+        return new ConflitoException("Já existe uma requisição em processamento com esta Idempotency-Key");
+    }
+}
@@ -0,0 +1,237 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.request.ProdutoRequest;
+import com.deliverytech.dto.response.ImportacaoProdutosResponse;
+import com.deliverytech.dto.response.ImportacaoProdutosResponse.ErroLinha;
+import com.deliverytech.entity.Produto;
+import com.deliverytech.entity.Restaurante;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.ImportacaoProdutoService;
+import com.deliverytech.service.ProdutoService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Importação em massa de produtos a partir de NDJSON (um ProdutoRequest por linha) ou CSV
+ * (cabeçalho com restauranteId, nome, descricao, categoria e preco, em qualquer ordem).
+ *
+ * O arquivo é lido linha a linha; cada linha é validada com as mesmas regras do cadastro
+ * unitário e os produtos válidos são gravados em lotes de "tamanho-lote" por transação,
+ * com uma única limpeza do cache por lote. Cada restaurante é consultado uma vez por
+ * importação. Linhas inválidas não interrompem a importação: voltam na lista de erros.
+ */
+@Slf4j
+@Service
+public class ImportacaoProdutoServiceImpl implements ImportacaoProdutoService {
+
+    private static final List<String> COLUNAS_CSV = List.of("restauranteId", "nome", "descricao", "categoria", "preco");
+
+    private final ProdutoService produtoService;
+    private final RestauranteRepository restauranteRepository;
+    private final ObjectMapper objectMapper;
+    private final Validator validator;
+    private final int tamanhoLote;
+    private final int maximoErros;
+
+    public ImportacaoProdutoServiceImpl(ProdutoService produtoService,
+                                        RestauranteRepository restauranteRepository,
+                                        ObjectMapper objectMapper,
+                                        Validator validator,
+                                        @Value("${produtos.importacao.tamanho-lote:500}") int tamanhoLote,
+                                        @Value("${produtos.importacao.maximo-erros:1000}") int maximoErros) {
+        this.produtoService = produtoService;
+        this.restauranteRepository = restauranteRepository;
+        this.objectMapper = objectMapper;
+        this.validator = validator;
+        this.tamanhoLote = tamanhoLote;
+        this.maximoErros = maximoErros;
+    }
+
+    // Produto válido aguardando o lote, com a linha de origem para reportar falhas de gravação
+    private record Pendente(long linha, Produto produto) {}
+
+    @Override
+    public ImportacaoProdutosResponse importar(InputStream conteudo, Formato formato) throws IOException {
+        ImportacaoProdutosResponse resultado = new ImportacaoProdutosResponse();
+        Map<Long, Optional<Restaurante>> restaurantes = new HashMap<>();
+        List<Pendente> lote = new ArrayList<>(tamanhoLote);
+
+        try (BufferedReader leitor = new BufferedReader(new InputStreamReader(conteudo, StandardCharsets.UTF_8))) {
+            long numeroLinha = 0;
+            Map<String, Integer> colunas = null;
+            String linha;
+            while ((linha = leitor.readLine()) != null) {
+                numeroLinha++;
+                if (linha.isBlank()) {
+                    continue;
+                }
+                if (formato == Formato.CSV && colunas == null) {
+                    colunas = lerCabecalho(linha);
+                    continue;
+                }
+                resultado.setLinhasProcessadas(resultado.getLinhasProcessadas() + 1);
+                try {
+                    ProdutoRequest request = formato == Formato.CSV ? lerCsv(linha, colunas) : lerJson(linha);
+                    lote.add(new Pendente(numeroLinha, montarProduto(request, restaurantes)));
+                } catch (BusinessException e) {
+                    registrarErro(resultado, numeroLinha, e.getMessage());
+                }
+                if (lote.size() >= tamanhoLote) {
+                    gravar(lote, resultado);
+                }
+            }
+        }
+        gravar(lote, resultado);
+        log.info("Importação de produtos: {} linhas, {} importados, {} com erro",
+                resultado.getLinhasProcessadas(), resultado.getImportados(), resultado.getComErro());
+        return resultado;
+    }
+
+    private void gravar(List<Pendente> lote, ImportacaoProdutosResponse resultado) {
+        if (lote.isEmpty()) {
+            return;
+        }
+        try {
+            produtoService.cadastrarEmLote(lote.stream().map(Pendente::produto).toList());
+            resultado.setImportados(resultado.getImportados() + lote.size());
+        } catch (RuntimeException e) {
+            // A transação do lote inteiro foi desfeita: todas as linhas do lote ficam com erro
+            log.warn("Falha ao gravar lote de {} produtos: {}", lote.size(), e.getMessage());
+            for (Pendente pendente : lote) {
+                registrarErro(resultado, pendente.linha(), "Falha ao gravar o lote: " + e.getMessage());
+            }
+        }
+        lote.clear();
+    }
+
+    private Produto montarProduto(ProdutoRequest request, Map<Long, Optional<Restaurante>> restaurantes) {
+        Set<ConstraintViolation<ProdutoRequest>> violacoes = validator.validate(request);
+        if (!violacoes.isEmpty()) {
+            throw new BusinessException(violacoes.stream()
+                    .map(v -> v.getPropertyPath() + ": " + v.getMessage())
+                    .sorted()
+                    .collect(Collectors.joining("; ")));
+        }
+        Restaurante restaurante = restaurantes
+                .computeIfAbsent(request.getRestauranteId(), restauranteRepository::findById)
+                .orElseThrow(() -> new BusinessException("Restaurante não encontrado com o ID: " + request.getRestauranteId()));
+        return Produto.builder()
+                .nome(request.getNome())
+                .categoria(request.getCategoria())
+                .descricao(request.getDescricao())
+                .preco(request.getPreco())
+                .disponivel(true)
+                .restaurante(restaurante)
+                .build();
+    }
+
+    private ProdutoRequest lerJson(String linha) {
+        try {
+            return objectMapper.readValue(linha, ProdutoRequest.class);
+        } catch (JsonProcessingException e) {
+            throw new BusinessException("JSON inválido: " + e.getOriginalMessage());
+        }
+    }
+
+    private Map<String, Integer> lerCabecalho(String linha) {
+        List<String> nomes = separarCsv(linha);
+        Map<String, Integer> colunas = new HashMap<>();
+        for (int i = 0; i < nomes.size(); i++) {
+            colunas.put(nomes.get(i).trim().toLowerCase(Locale.ROOT), i);
+        }
+        for (String obrigatoria : COLUNAS_CSV) {
+            if (!colunas.containsKey(obrigatoria.toLowerCase(Locale.ROOT))) {
+                throw new BusinessException("Cabeçalho CSV sem a coluna obrigatória: " + obrigatoria);
+            }
+        }
+        return colunas;
+    }
+
+    private ProdutoRequest lerCsv(String linha, Map<String, Integer> colunas) {
+        List<String> valores = separarCsv(linha);
+        ProdutoRequest request = new ProdutoRequest();
+        request.setNome(valor(valores, colunas, "nome"));
+        request.setDescricao(valor(valores, colunas, "descricao"));
+        request.setCategoria(valor(valores, colunas, "categoria"));
+        try {
+            String restauranteId = valor(valores, colunas, "restauranteId");
+            request.setRestauranteId(restauranteId != null ? Long.valueOf(restauranteId) : null);
+            String preco = valor(valores, colunas, "preco");
+            request.setPreco(preco != null ? new BigDecimal(preco) : null);
+        } catch (NumberFormatException e) {
+            throw new BusinessException("Número inválido em restauranteId ou preco");
+        }
+        return request;
+    }
+
+    private static String valor(List<String> valores, Map<String, Integer> colunas, String coluna) {
+        int indice = colunas.get(coluna.toLowerCase(Locale.ROOT));
+        if (indice >= valores.size()) {
+            return null;
+        }
+        String valor = valores.get(indice).trim();
+        return valor.isEmpty() ? null : valor;
+    }
+
+    // CSV (RFC 4180) de uma linha: vírgula como separador, aspas duplas para campos com vírgula
+    private static List<String> separarCsv(String linha) {
+        List<String> campos = new ArrayList<>();
+        StringBuilder campo = new StringBuilder();
+        boolean entreAspas = false;
+        for (int i = 0; i < linha.length(); i++) {
+            char c = linha.charAt(i);
+            if (entreAspas) {
+                if (c == '"' && i + 1 < linha.length() && linha.charAt(i + 1) == '"') {
+                    campo.append('"');
+                    i++;
+                } else if (c == '"') {
+                    entreAspas = false;
+                } else {
+                    campo.append(c);
+                }
+            } else if (c == '"') {
+                entreAspas = true;
+            } else if (c == ',') {
+                campos.add(campo.toString());
+                campo.setLength(0);
+            } else {
+                campo.append(c);
+            }
+        }
+        if (entreAspas) {
+            throw new BusinessException("Aspas não fechadas na linha");
+        }
+        campos.add(campo.toString());
+        return campos;
+    }
+
+    private void registrarErro(ImportacaoProdutosResponse resultado, long linha, String mensagem) {
+        resultado.setComErro(resultado.getComErro() + 1);
+        if (resultado.getErros().size() < maximoErros) {
+            resultado.getErros().add(new ErroLinha(linha, mensagem));
+        } else {
+            resultado.setErrosTruncados(true);
+        }
+    }
+}
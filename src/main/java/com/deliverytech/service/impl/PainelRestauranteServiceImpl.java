@@ -0,0 +1,153 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.PainelRestauranteResponse;
+import com.deliverytech.entity.StatusPedido;
+import com.deliverytech.event.PedidoEvento;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.projection.PedidoPainelView;
+import com.deliverytech.service.PainelRestauranteService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.LocalDate;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Contadores do dia por restaurante, mantidos incrementalmente a partir dos PedidoEvento.
+ *
+ * Cada restaurante tem um LongAdder por status e um para o faturamento (em centavos), então
+ * a escrita não disputa lock e a leitura soma um número fixo de contadores. Para saber de qual
+ * status decrementar numa transição, guarda o status de cada pedido do dia. As transições só
+ * avançam na ordem dos status, então eventos que chegam fora de ordem (callbacks de commit de
+ * transações diferentes) com status igual ou anterior ao guardado são descartados. Na virada do dia tudo recomeça do zero; na subida da
+ * aplicação os contadores são reconstruídos do banco.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PainelRestauranteServiceImpl implements PainelRestauranteService {
+
+    private final PedidoRepository pedidoRepository;
+
+    private final AtomicReference<Dia> diaAtual = new AtomicReference<>(new Dia(LocalDate.now()));
+
+    @Override
+    public PainelRestauranteResponse consultar(Long restauranteId) {
+        Dia dia = dia();
+        Contadores contadores = dia.restaurantes.get(restauranteId);
+        Map<StatusPedido, Long> porStatus = new EnumMap<>(StatusPedido.class);
+        for (StatusPedido status : StatusPedido.values()) {
+            porStatus.put(status, contadores != null ? contadores.porStatus[status.ordinal()].sum() : 0L);
+        }
+        long centavos = contadores != null ? contadores.faturamentoCentavos.sum() : 0L;
+        return new PainelRestauranteResponse(restauranteId, dia.data, porStatus, BigDecimal.valueOf(centavos, 2));
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoPublicarEvento(PedidoEvento evento) {
+        Dia dia = dia();
+        if (evento.dataPedido() == null || !dia.data.equals(evento.dataPedido().toLocalDate())) {
+            return; // Pedido de outro dia não entra no painel de hoje
+        }
+        dia.aplicar(evento.pedidoId(), evento.restauranteId(), evento.status(), evento.total());
+    }
+
+    // Reconstrói a partir do banco; pedidos que os eventos já levaram a um status igual ou posterior são mantidos
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        Dia dia = dia();
+        int carregados = 0;
+        for (PedidoPainelView pedido : pedidoRepository.buscarParaPainelDesde(dia.data.atStartOfDay())) {
+            if (dia.aplicar(pedido.id(), pedido.restauranteId(), pedido.status(), pedido.total())) {
+                carregados++;
+            }
+        }
+        log.info("Painel dos restaurantes reconstruído com {} pedidos de {}", carregados, dia.data);
+    }
+
+    // Troca o dia de forma atômica na virada; quem perder a corrida usa o dia criado pelo vencedor
+    private Dia dia() {
+        Dia dia = diaAtual.get();
+        LocalDate hoje = LocalDate.now();
+        if (!dia.data.equals(hoje)) {
+            diaAtual.compareAndSet(dia, new Dia(hoje));
+            dia = diaAtual.get();
+        }
+        return dia;
+    }
+
+    private static final class Dia {
+        private final LocalDate data;
+        private final ConcurrentHashMap<Long, StatusPedido> statusPorPedido = new ConcurrentHashMap<>();
+        private final Map<Long, Contadores> restaurantes = new ConcurrentHashMap<>();
+
+        private Dia(LocalDate data) {
+            this.data = data;
+        }
+
+        /**
+         * Leva o pedido ao status informado se ele for posterior ao guardado. O compute
+         * serializa as atualizações de um mesmo pedido, então a decisão e a troca dos contadores
+         * acontecem juntas.
+         *
+         * @return true se os contadores mudaram
+         */
+        private boolean aplicar(Long pedidoId, Long restauranteId, StatusPedido status, BigDecimal total) {
+            boolean[] aplicado = {false};
+            statusPorPedido.compute(pedidoId, (id, atual) -> {
+                if (!status.posteriorA(atual)) {
+                    return atual; // Evento atrasado ou já contabilizado pela reconstrução
+                }
+                contadores(restauranteId).transicionar(atual, status, total);
+                aplicado[0] = true;
+                return status;
+            });
+            return aplicado[0];
+        }
+
+        private Contadores contadores(Long restauranteId) {
+            return restaurantes.computeIfAbsent(restauranteId, id -> new Contadores());
+        }
+    }
+
+    private static final class Contadores {
+        private final LongAdder[] porStatus = new LongAdder[StatusPedido.values().length];
+        private final LongAdder faturamentoCentavos = new LongAdder();
+
+        private Contadores() {
+            for (int i = 0; i < porStatus.length; i++) {
+                porStatus[i] = new LongAdder();
+            }
+        }
+
+        // anterior == null significa pedido que ainda não estava no painel
+        private void transicionar(StatusPedido anterior, StatusPedido novo, BigDecimal total) {
+            if (anterior == novo) {
+                return;
+            }
+            if (anterior != null) {
+                porStatus[anterior.ordinal()].decrement();
+            }
+            porStatus[novo.ordinal()].increment();
+
+            boolean faturavaAntes = anterior != null && anterior != StatusPedido.CANCELADO;
+            boolean faturaAgora = novo != StatusPedido.CANCELADO;
+            if (faturavaAntes != faturaAgora && total != null) {
+                long centavos = total.movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValue();
+                faturamentoCentavos.add(faturaAgora ? centavos : -centavos);
+            }
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.ItemPedidoResponse;
+import com.deliverytech.dto.response.PedidoResponse;
+import com.deliverytech.entity.Pedido;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.service.PedidoExportacaoService;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import jakarta.persistence.EntityManager;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Exportação do histórico de pedidos em NDJSON (um pedido por linha, com itens) ou CSV (uma linha por item).
+ *
+ * Os pedidos vêm de um Stream só para frente com fetch size, e cada pedido é escrito e em seguida
+ * desanexado do contexto de persistência; assim a memória fica constante, seja qual for o número de pedidos.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class PedidoExportacaoServiceImpl implements PedidoExportacaoService {
+
+    private static final String CABECALHO_CSV =
+            "pedidoId,dataPedido,status,clienteId,total,produtoId,nomeProduto,quantidade,precoUnitario\n";
+
+    private final PedidoRepository pedidoRepository;
+    private final EntityManager entityManager;
+    private final ObjectMapper objectMapper;
+
+    @Override
+    @Transactional(readOnly = true)
+    public long exportar(Long restauranteId, LocalDate de, LocalDate ate, Formato formato, OutputStream saida) throws IOException {
+        if (ate.isBefore(de)) {
+            throw new BusinessException("A data final não pode ser anterior à inicial");
+        }
+        Writer escritor = new BufferedWriter(new OutputStreamWriter(saida, StandardCharsets.UTF_8), 64 * 1024);
+        // O ObjectMapper fecharia a saída ao terminar cada valor; quem fecha é o servlet
+        JsonGenerator json = formato == Formato.NDJSON
+                ? objectMapper.getFactory().createGenerator(escritor).disable(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                : null;
+        if (formato == Formato.CSV) {
+            escritor.write(CABECALHO_CSV);
+        }
+
+        long total = 0;
+        try (Stream<Pedido> pedidos = pedidoRepository.streamPorRestauranteEPeriodo(
+                restauranteId, de.atStartOfDay(), ate.plusDays(1).atStartOfDay())) {
+            Iterator<Pedido> iterador = pedidos.iterator();
+            while (iterador.hasNext()) {
+                Pedido pedido = iterador.next();
+                PedidoResponse linha = PedidoResponse.de(pedido);
+                if (json != null) {
+                    objectMapper.writeValue(json, linha);
+                    json.flush();
+                    escritor.write('\n');
+                } else {
+                    escreverCsv(escritor, linha);
+                }
+                // Cascata para os itens; os produtos ficam no contexto, pois se repetem entre pedidos
+                entityManager.detach(pedido);
+                total++;
+            }
+        }
+        escritor.flush();
+        log.info("Exportados {} pedidos do restaurante {} ({} a {})", total, restauranteId, de, ate);
+        return total;
+    }
+
+    private static void escreverCsv(Writer escritor, PedidoResponse pedido) throws IOException {
+        String prefixo = pedido.getId() + "," + pedido.getDataPedido() + "," + pedido.getStatus() + ","
+                + pedido.getClienteId() + "," + pedido.getTotal() + ",";
+        if (pedido.getItens().isEmpty()) {
+            escritor.write(prefixo + ",,,\n");
+            return;
+        }
+        for (ItemPedidoResponse item : pedido.getItens()) {
+            escritor.write(prefixo + item.getProdutoId() + "," + campoCsv(item.getNomeProduto()) + ","
+                    + item.getQuantidade() + "," + item.getPrecoUnitario() + "\n");
+        }
+    }
+
+    // Aspas apenas quando necessário (RFC 4180)
+    private static String campoCsv(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor.indexOf(',') < 0 && valor.indexOf('"') < 0 && valor.indexOf('\n') < 0) {
+            return valor;
+        }
+        return '"' + valor.replace("\"", "\"\"") + '"';
+    }
+}
@@ -0,0 +1,206 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.dto.response.IngestaoPedidoResponse;
+import com.deliverytech.dto.response.StatusIngestao;
+import com.deliverytech.entity.Pedido;
+import com.deliverytech.exception.ServicoIndisponivelException;
+import com.deliverytech.service.PedidoIngestaoService;
+import com.deliverytech.service.PedidoService;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Ingestão assíncrona de pedidos.
+ *
+ * A requisição só valida e monta o pedido; ele entra numa fila limitada e a resposta é um 202
+ * com o protocolo. Uma única thread de gravação esvazia a fila em lotes de até "tamanho-lote"
+ * pedidos (esperando no máximo "espera-lote-ms" para completar o lote) e grava cada lote em uma
+ * única transação, amortizando o commit e o round-trip entre vários pedidos. Com a fila cheia a
+ * requisição recebe 503 com Retry-After em vez de acumular memória sem limite.
+ */
+@Slf4j
+@Service
+public class PedidoIngestaoServiceImpl implements PedidoIngestaoService, SmartLifecycle {
+
+    private static final long RETRY_AFTER_SEGUNDOS = 1;
+
+    private record PedidoPendente(UUID protocolo, Pedido pedido) {}
+
+    private final PedidoService pedidoService;
+    private final boolean habilitada;
+    private final int tamanhoLote;
+    private final long esperaLoteMs;
+    private final BlockingQueue<PedidoPendente> fila;
+    // Situação de cada protocolo; expira para não crescer indefinidamente
+    private final Cache<UUID, IngestaoPedidoResponse> situacoes;
+    private final Counter rejeitados;
+
+    private volatile boolean executando;
+    private Thread gravador;
+
+    public PedidoIngestaoServiceImpl(PedidoService pedidoService,
+                                     MeterRegistry meterRegistry,
+                                     @Value("${pedidos.ingestao.assincrona:false}") boolean habilitada,
+                                     @Value("${pedidos.ingestao.capacidade-fila:10000}") int capacidadeFila,
+                                     @Value("${pedidos.ingestao.tamanho-lote:100}") int tamanhoLote,
+                                     @Value("${pedidos.ingestao.espera-lote-ms:20}") long esperaLoteMs,
+                                     @Value("${pedidos.ingestao.retencao-status-minutos:30}") long retencaoStatusMinutos) {
+        this.pedidoService = pedidoService;
+        this.habilitada = habilitada;
+        this.tamanhoLote = tamanhoLote;
+        this.esperaLoteMs = esperaLoteMs;
+        this.fila = new ArrayBlockingQueue<>(capacidadeFila);
+        this.situacoes = Caffeine.newBuilder()
+                .expireAfterWrite(Duration.ofMinutes(retencaoStatusMinutos))
+                .maximumSize(capacidadeFila * 10L)
+                .build();
+        this.rejeitados = Counter.builder("pedidos_ingestao_rejeitados_total")
+                .description("Pedidos recusados porque a fila de ingestão estava cheia")
+                .register(meterRegistry);
+        Gauge.builder("pedidos_ingestao_fila_tamanho", fila, BlockingQueue::size)
+                .description("Pedidos aguardando gravação na fila de ingestão")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public boolean isHabilitada() {
+        return habilitada;
+    }
+
+    @Override
+    public UUID enfileirar(Pedido pedido) {
+        if (!executando) {
+            throw new ServicoIndisponivelException("Ingestão de pedidos indisponível no momento", RETRY_AFTER_SEGUNDOS);
+        }
+        UUID protocolo = UUID.randomUUID();
+        situacoes.put(protocolo, IngestaoPedidoResponse.pendente(protocolo));
+        if (!fila.offer(new PedidoPendente(protocolo, pedido))) {
+            situacoes.invalidate(protocolo);
+            rejeitados.increment();
+            throw new ServicoIndisponivelException("Fila de pedidos cheia, tente novamente em instantes", RETRY_AFTER_SEGUNDOS);
+        }
+        return protocolo;
+    }
+
+    @Override
+    public Optional<IngestaoPedidoResponse> consultar(UUID protocolo) {
+        return Optional.ofNullable(situacoes.getIfPresent(protocolo));
+    }
+
+    // --- Thread de gravação ---
+
+    private void gravarContinuamente() {
+        List<PedidoPendente> lote = new ArrayList<>(tamanhoLote);
+        // Depois do stop, continua até esvaziar o que já foi aceito
+        while (executando || !fila.isEmpty()) {
+            try {
+                PedidoPendente primeiro = fila.poll(esperaLoteMs, TimeUnit.MILLISECONDS);
+                if (primeiro == null) {
+                    continue;
+                }
+                lote.add(primeiro);
+                completarLote(lote);
+                gravar(lote);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } finally {
+                lote.clear();
+            }
+        }
+    }
+
+    private void completarLote(List<PedidoPendente> lote) throws InterruptedException {
+        long limite = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(esperaLoteMs);
+        fila.drainTo(lote, tamanhoLote - lote.size());
+        // Sob carga baixa espera um pouco para juntar mais pedidos no mesmo lote
+        while (lote.size() < tamanhoLote) {
+            long restante = limite - System.nanoTime();
+            if (restante <= 0) {
+                break;
+            }
+            PedidoPendente proximo = fila.poll(restante, TimeUnit.NANOSECONDS);
+            if (proximo == null) {
+                break;
+            }
+            lote.add(proximo);
+            fila.drainTo(lote, tamanhoLote - lote.size());
+        }
+    }
+
+    private void gravar(List<PedidoPendente> lote) {
+        try {
+            List<Pedido> salvos = pedidoService.criarEmLote(lote.stream().map(PedidoPendente::pedido).toList());
+            for (int i = 0; i < lote.size(); i++) {
+                marcarPersistido(lote.get(i).protocolo(), salvos.get(i));
+            }
+        } catch (RuntimeException e) {
+            log.warn("Falha ao gravar lote de {} pedidos, gravando individualmente: {}", lote.size(), e.getMessage());
+            // Um pedido inválido não pode derrubar os outros do lote
+            lote.forEach(this::gravarIndividualmente);
+        }
+    }
+
+    private void gravarIndividualmente(PedidoPendente pendente) {
+        Pedido pedido = pendente.pedido();
+        // Descarta ids atribuídos na transação do lote que sofreu rollback
+        pedido.setId(null);
+        pedido.getItens().forEach(item -> item.setId(null));
+        try {
+            marcarPersistido(pendente.protocolo(), pedidoService.criarEmLote(List.of(pedido)).get(0));
+        } catch (RuntimeException e) {
+            log.error("Falha ao gravar pedido do protocolo {}", pendente.protocolo(), e);
+            situacoes.put(pendente.protocolo(),
+                    new IngestaoPedidoResponse(pendente.protocolo(), StatusIngestao.FALHOU, null, e.getMessage()));
+        }
+    }
+
+    private void marcarPersistido(UUID protocolo, Pedido salvo) {
+        situacoes.put(protocolo, new IngestaoPedidoResponse(protocolo, StatusIngestao.PERSISTIDO, salvo.getId(), null));
+    }
+
+    // --- Ciclo de vida ---
+
+    @Override
+    public void start() {
+        if (!habilitada) {
+            return;
+        }
+        executando = true;
+        gravador = Thread.ofPlatform().name("pedido-ingestao").daemon(true).start(this::gravarContinuamente);
+    }
+
+    @Override
+    public void stop() {
+        executando = false;
+        if (gravador != null) {
+            try {
+                gravador.join(TimeUnit.SECONDS.toMillis(30));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            gravador = null;
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return executando;
+    }
+}
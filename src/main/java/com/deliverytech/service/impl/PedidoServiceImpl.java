@@ -1,69 +1,167 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.dto.request.PedidoCursor;
+import com.deliverytech.dto.request.PedidoFiltroRequest;
+import com.deliverytech.dto.response.ItemPedidoResponse;
+import com.deliverytech.dto.response.PedidoResponse;
 import com.deliverytech.entity.Pedido;
 import com.deliverytech.entity.StatusPedido;
+import com.deliverytech.event.PedidoEvento;
+import com.deliverytech.exception.ConflitoException;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.repository.PedidoRepository;
+import com.deliverytech.repository.projection.ItemPedidoView;
+import com.deliverytech.repository.projection.PedidoResumoView;
+import com.deliverytech.service.MetricaLatencia;
 import com.deliverytech.service.MetricsService;
 import com.deliverytech.service.PedidoService;
+import com.deliverytech.system.monitoring.LatenciaNomeada;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.RequiredArgsConstructor;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 
+import java.time.Duration;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
 public class PedidoServiceImpl implements PedidoService {
 
+    private static final int TAMANHO_PAGINA_PADRAO = 20;
+    private static final int TAMANHO_PAGINA_MAXIMO = 100;
+
     private final PedidoRepository pedidoRepository;
     private final MetricsService metricsService;
+    private final ApplicationEventPublisher eventPublisher;
+
+    // Cliente, restaurante, total e data não mudam depois da criação: guardados para montar os
+    // eventos de mudança de status sem uma consulta extra a cada transição
+    private final Cache<Long, PedidoResumoView> resumos = Caffeine.newBuilder()
+            .maximumSize(100_000)
+            .expireAfterAccess(Duration.ofHours(6))
+            .build();
 
     @Override
     public Pedido criar(Pedido pedido) {
         pedido.setStatus(StatusPedido.CRIADO);
         Pedido pedidoSalvo = pedidoRepository.save(pedido);
-        metricsService.incrementarPedidosProcessados(pedido.getStatus().name());
+        metricsService.incrementarPedidosProcessados(pedido.getStatus());
+        publicarCriacao(pedidoSalvo);
         return pedidoSalvo;
     }
 
     @Override
+    @Transactional
+    public List<Pedido> criarEmLote(List<Pedido> pedidos) {
+        pedidos.forEach(pedido -> pedido.setStatus(StatusPedido.CRIADO));
+        List<Pedido> salvos = pedidoRepository.saveAll(pedidos);
+        salvos.forEach(pedido -> {
+            metricsService.incrementarPedidosProcessados(pedido.getStatus());
+            publicarCriacao(pedido);
+        });
+        return salvos;
+    }
+
+    @Override
+    @LatenciaNomeada(MetricaLatencia.BUSCAR_PEDIDO_ID)
     public Pedido buscarPorId(Long id) {
-        long startTime = System.currentTimeMillis(); // MARCA O TEMPO INICIAL
-        try {
-            // Executa a busca no banco de dados
-            return pedidoRepository.findById(id)
-                    .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com o ID: " + id));
-        } finally {
-            // O BLOCO FINALLY GARANTE QUE O TIMER SERÁ REGISTRADO MESMO SE OCORRER UM ERRO
-            long duration = System.currentTimeMillis() - startTime; // Calcula a duração
-            metricsService.registrarLatencia("buscar_pedido_id", duration); // Registra a métrica
-        }
+        return pedidoRepository.findById(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com o ID: " + id));
     }
 
     @Override
-    public List<Pedido> listarPorCliente(Long clienteId) {
-        return pedidoRepository.findByClienteId(clienteId);
+    @Transactional(readOnly = true)
+    // GET /api/pedidos/{id} passa por aqui: mantém a série buscar_pedido_id dos dashboards
+    @LatenciaNomeada(MetricaLatencia.BUSCAR_PEDIDO_ID)
+    public PedidoResponse consultarPorId(Long id) {
+        PedidoResponse pedido = pedidoRepository.buscarResumoPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com o ID: " + id));
+        preencherItens(List.of(pedido));
+        return pedido;
     }
 
     @Override
-    public List<Pedido> listarPorRestaurante(Long restauranteId) {
-        return pedidoRepository.findByRestauranteId(restauranteId);
+    @Transactional(readOnly = true)
+    public Slice<PedidoResponse> listarPorCliente(Long clienteId, PedidoFiltroRequest filtro) {
+        PedidoCursor cursor = PedidoCursor.decodificar(filtro.getCursor());
+        Slice<PedidoResponse> pagina = pedidoRepository.buscarPaginaPorCliente(clienteId, filtro.getStatus(), filtro.getDe(), filtro.getAte(),
+                cursor != null ? cursor.dataPedido() : null, cursor != null ? cursor.id() : null, limite(filtro));
+        preencherItens(pagina.getContent());
+        return pagina;
     }
 
     @Override
-    public Pedido atualizarStatus(Long id, StatusPedido status) {
-        Pedido pedido = buscarPorId(id); // Este método já está sendo "timado"
-        pedido.setStatus(status);
-        Pedido pedidoSalvo = pedidoRepository.save(pedido);
-        metricsService.incrementarPedidosProcessados(status.name());
-        return pedidoSalvo;
+    @Transactional(readOnly = true)
+    public Slice<PedidoResponse> listarPorRestaurante(Long restauranteId, PedidoFiltroRequest filtro) {
+        PedidoCursor cursor = PedidoCursor.decodificar(filtro.getCursor());
+        Slice<PedidoResponse> pagina = pedidoRepository.buscarPaginaPorRestaurante(restauranteId, filtro.getStatus(), filtro.getDe(), filtro.getAte(),
+                cursor != null ? cursor.dataPedido() : null, cursor != null ? cursor.id() : null, limite(filtro));
+        preencherItens(pagina.getContent());
+        return pagina;
+    }
+
+    // Busca os itens de todos os pedidos da página em uma única consulta e distribui por pedido
+    private void preencherItens(List<PedidoResponse> pedidos) {
+        if (pedidos.isEmpty()) {
+            return;
+        }
+        Map<Long, PedidoResponse> porId = new HashMap<>(pedidos.size() * 2);
+        pedidos.forEach(p -> porId.put(p.getId(), p));
+        for (ItemPedidoView item : pedidoRepository.buscarItensDosPedidos(porId.keySet())) {
+            porId.get(item.pedidoId()).getItens().add(new ItemPedidoResponse(
+                    item.produtoId(), item.nomeProduto(), item.quantidade(), item.precoUnitario()));
+        }
+    }
+
+    // Sempre a página 0: quem avança é o cursor, o Pageable só limita o número de linhas
+    private Pageable limite(PedidoFiltroRequest filtro) {
+        int tamanho = filtro.getTamanho() != null ? filtro.getTamanho() : TAMANHO_PAGINA_PADRAO;
+        return PageRequest.of(0, Math.min(tamanho, TAMANHO_PAGINA_MAXIMO));
+    }
+
+    @Override
+    @Transactional
+    public void atualizarStatus(Long id, StatusPedido status) {
+        // Um único UPDATE condicional: a validação da transição e a detecção de concorrência ficam no WHERE
+        if (status.origens().isEmpty() || pedidoRepository.atualizarStatusSe(id, status.origens(), status) == 0) {
+            throw falhaNaTransicao(id, status);
+        }
+        metricsService.incrementarPedidosProcessados(status);
+        publicarMudancaDeStatus(id, status);
     }
 
     @Override
+    @Transactional
     public void cancelar(Long id) {
-        Pedido pedido = buscarPorId(id); // Este método também será "timado"
-        pedido.setStatus(StatusPedido.CANCELADO);
-        pedidoRepository.save(pedido);
-        metricsService.incrementarPedidosProcessados(StatusPedido.CANCELADO.name());
+        atualizarStatus(id, StatusPedido.CANCELADO);
+    }
+
+    // Só roda quando o UPDATE não afetou linhas, para explicar o motivo
+    private RuntimeException falhaNaTransicao(Long id, StatusPedido destino) {
+        StatusPedido atual = pedidoRepository.buscarStatusPorId(id)
+                .orElseThrow(() -> new EntityNotFoundException("Pedido não encontrado com o ID: " + id));
+        return new ConflitoException("Não é possível alterar o pedido " + id + " de " + atual + " para " + destino);
+    }
+
+    // Os ouvintes só recebem o evento depois do commit (@TransactionalEventListener)
+    private void publicarCriacao(Pedido pedido) {
+        PedidoResumoView resumo = PedidoResumoView.de(pedido);
+        resumos.put(resumo.id(), resumo);
+        eventPublisher.publishEvent(PedidoEvento.de(PedidoEvento.Tipo.PEDIDO_CRIADO, resumo, pedido.getStatus()));
+    }
+
+    private void publicarMudancaDeStatus(Long id, StatusPedido status) {
+        PedidoResumoView resumo = resumos.get(id, chave -> pedidoRepository.buscarResumoEventoPorId(chave).orElse(null));
+        if (resumo != null) {
+            eventPublisher.publishEvent(PedidoEvento.de(PedidoEvento.Tipo.STATUS_ALTERADO, resumo, status));
+        }
     }
 }
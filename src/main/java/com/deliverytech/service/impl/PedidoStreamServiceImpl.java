@@ -0,0 +1,206 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.entity.Role;
+import com.deliverytech.event.PedidoEvento;
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.repository.ClienteRepository;
+import com.deliverytech.security.UsuarioPrincipal;
+import com.deliverytech.service.PedidoStreamService;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.MediaType;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter.DataWithMediaType;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Stream SSE dos eventos de pedido, com escopo pelo restaurante ou cliente do token.
+ *
+ * Conexões ociosas não ocupam threads (o SseEmitter usa o modo assíncrono do servlet).
+ * Cada evento é serializado uma única vez e colocado no buffer limitado de cada conexão
+ * interessada; o envio acontece em uma thread virtual por conexão apenas enquanto houver
+ * algo no buffer, então um cliente lento nunca bloqueia quem publica o evento. Se o buffer
+ * enche, a conexão é encerrada e o cliente reconecta e recarrega a lista.
+ */
+@Slf4j
+@Service
+public class PedidoStreamServiceImpl implements PedidoStreamService {
+
+    private static final Set<DataWithMediaType> HEARTBEAT = SseEmitter.event().comment("heartbeat").build();
+
+    private final ClienteRepository clienteRepository;
+    private final ObjectMapper objectMapper;
+    private final long timeoutMs;
+    private final int capacidadeBuffer;
+
+    private final Map<Long, Set<Conexao>> porRestaurante = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Conexao>> porCliente = new ConcurrentHashMap<>();
+    private final Set<Conexao> administradores = ConcurrentHashMap.newKeySet();
+    private final Set<Conexao> todas = ConcurrentHashMap.newKeySet();
+
+    private final ExecutorService envio = Executors.newVirtualThreadPerTaskExecutor();
+    private final ScheduledExecutorService heartbeat = Executors.newSingleThreadScheduledExecutor(
+            Thread.ofPlatform().name("pedido-stream-heartbeat").daemon(true).factory());
+    private final Counter descartadas;
+
+    public PedidoStreamServiceImpl(ClienteRepository clienteRepository,
+                                   ObjectMapper objectMapper,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${pedidos.stream.timeout-minutos:30}") long timeoutMinutos,
+                                   @Value("${pedidos.stream.buffer-eventos:64}") int capacidadeBuffer,
+                                   @Value("${pedidos.stream.heartbeat-segundos:15}") long heartbeatSegundos) {
+        this.clienteRepository = clienteRepository;
+        this.objectMapper = objectMapper;
+        this.timeoutMs = TimeUnit.MINUTES.toMillis(timeoutMinutos);
+        this.capacidadeBuffer = capacidadeBuffer;
+        this.descartadas = Counter.builder("pedidos_stream_conexoes_descartadas_total")
+                .description("Conexões SSE encerradas porque o buffer de eventos encheu")
+                .register(meterRegistry);
+        Gauge.builder("pedidos_stream_conexoes", todas, Set::size)
+                .description("Conexões SSE de pedidos abertas")
+                .register(meterRegistry);
+        heartbeat.scheduleAtFixedRate(this::enviarHeartbeat, heartbeatSegundos, heartbeatSegundos, TimeUnit.SECONDS);
+    }
+
+    @Override
+    public SseEmitter conectar(UsuarioPrincipal usuario) {
+        Set<Conexao> grupo = grupoDoUsuario(usuario);
+        SseEmitter emitter = new SseEmitter(timeoutMs);
+        Conexao conexao = new Conexao(emitter, grupo, new ArrayBlockingQueue<>(capacidadeBuffer));
+        emitter.onCompletion(() -> remover(conexao));
+        emitter.onTimeout(() -> remover(conexao));
+        emitter.onError(erro -> remover(conexao));
+        grupo.add(conexao);
+        todas.add(conexao);
+        // Primeiro envio confirma a conexão para o cliente (e para proxies) imediatamente
+        conexao.enfileirar(HEARTBEAT);
+        return emitter;
+    }
+
+    private Set<Conexao> grupoDoUsuario(UsuarioPrincipal usuario) {
+        if (Role.ADMIN.name().equals(usuario.getRole())) {
+            return administradores;
+        }
+        if (usuario.getRestauranteId() != null) {
+            return porRestaurante.computeIfAbsent(usuario.getRestauranteId(), id -> ConcurrentHashMap.newKeySet());
+        }
+        if (Role.CLIENTE.name().equals(usuario.getRole())) {
+            // Usuário e cliente são cadastros separados, ligados pelo e-mail
+            Long clienteId = clienteRepository.findByEmail(usuario.getEmail())
+                    .orElseThrow(() -> new EntityNotFoundException("Cliente não encontrado para o usuário: " + usuario.getEmail()))
+                    .getId();
+            return porCliente.computeIfAbsent(clienteId, id -> ConcurrentHashMap.newKeySet());
+        }
+        throw new AccessDeniedException("Usuário sem restaurante ou cliente associado");
+    }
+
+    @TransactionalEventListener(fallbackExecution = true)
+    public void aoPublicarEvento(PedidoEvento evento) {
+        Set<Conexao> restaurante = porRestaurante.get(evento.restauranteId());
+        Set<Conexao> cliente = porCliente.get(evento.clienteId());
+        if ((restaurante == null || restaurante.isEmpty()) && (cliente == null || cliente.isEmpty()) && administradores.isEmpty()) {
+            return;
+        }
+        Set<DataWithMediaType> dados;
+        try {
+            // Serializado uma única vez e compartilhado por todas as conexões
+            dados = SseEmitter.event()
+                    .id(evento.pedidoId() + ":" + evento.status())
+                    .name(evento.tipo().name())
+                    .data(objectMapper.writeValueAsString(evento), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            log.error("Falha ao serializar evento do pedido {}", evento.pedidoId(), e);
+            return;
+        }
+        distribuir(restaurante, dados);
+        distribuir(cliente, dados);
+        distribuir(administradores, dados);
+    }
+
+    private void distribuir(Set<Conexao> conexoes, Set<DataWithMediaType> dados) {
+        if (conexoes != null) {
+            conexoes.forEach(conexao -> conexao.enfileirar(dados));
+        }
+    }
+
+    private void enviarHeartbeat() {
+        todas.forEach(conexao -> conexao.enfileirar(HEARTBEAT));
+    }
+
+    private void remover(Conexao conexao) {
+        conexao.grupo.remove(conexao);
+        todas.remove(conexao);
+    }
+
+    @PreDestroy
+    public void encerrar() {
+        heartbeat.shutdownNow();
+        todas.forEach(conexao -> conexao.emitter.complete());
+        envio.shutdown();
+    }
+
+    private final class Conexao {
+        private final SseEmitter emitter;
+        private final Set<Conexao> grupo;
+        private final Queue<Set<DataWithMediaType>> buffer;
+        private final AtomicBoolean enviando = new AtomicBoolean();
+
+        private Conexao(SseEmitter emitter, Set<Conexao> grupo, Queue<Set<DataWithMediaType>> buffer) {
+            this.emitter = emitter;
+            this.grupo = grupo;
+            this.buffer = buffer;
+        }
+
+        void enfileirar(Set<DataWithMediaType> dados) {
+            if (!buffer.offer(dados)) {
+                // Cliente não acompanha o ritmo: encerra em vez de perder eventos silenciosamente
+                descartadas.increment();
+                remover(this);
+                emitter.complete();
+                return;
+            }
+            if (enviando.compareAndSet(false, true)) {
+                envio.execute(this::esvaziar);
+            }
+        }
+
+        private void esvaziar() {
+            do {
+                Set<DataWithMediaType> dados;
+                while ((dados = buffer.poll()) != null) {
+                    try {
+                        emitter.send(dados);
+                    } catch (IOException | IllegalStateException e) {
+                        // Conexão fechada pelo cliente
+                        remover(this);
+                        buffer.clear();
+                        return;
+                    }
+                }
+                enviando.set(false);
+                // Reavalia: um evento pode ter chegado entre o último poll e o set(false)
+            } while (!buffer.isEmpty() && enviando.compareAndSet(false, true));
+        }
+    }
+}
@@ -1,47 +1,143 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.cache.CacheEmLote;
+import com.deliverytech.cache.EtagCache;
 import com.deliverytech.entity.Produto;
 import com.deliverytech.exception.EntityNotFoundException;
 import com.deliverytech.repository.ProdutoRepository;
+import com.deliverytech.service.BuscaProdutoService;
+import com.deliverytech.service.CardapioService;
 import com.deliverytech.service.ProdutoService;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
 import org.springframework.cache.annotation.CacheEvict;
 import org.springframework.cache.annotation.Cacheable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import static net.logstash.logback.argument.StructuredArguments.kv;
+
+@Slf4j
 @Service
 @RequiredArgsConstructor
 public class ProdutoServiceImpl implements ProdutoService {
 
+    private static final String CACHE_PRODUTOS = "produtos";
+
     private final ProdutoRepository produtoRepository;
+    private final CacheManager cacheManager;
+    private final CardapioService cardapioService;
+    private final EtagCache etagCache;
+    private final BuscaProdutoService buscaProdutoService;
 
     @Override
     @CacheEvict(value = "produtos", allEntries = true) // ✅ LIMPA todo o cache de produtos ao adicionar um novo
     public Produto cadastrar(Produto produto) {
-        System.out.println("### CADASTRANDO PRODUTO NO BANCO E LIMPANDO CACHE...");
-        return produtoRepository.save(produto);
+        Produto salvo = produtoRepository.save(produto);
+        log.info("Produto cadastrado, cache de produtos limpo {} {}",
+                kv("produtoId", salvo.getId()), kv("restauranteId", salvo.getRestaurante().getId()));
+        cardapioService.invalidar(salvo.getRestaurante().getId());
+        buscaProdutoService.indexar(salvo);
+        return salvo;
+    }
+
+    @Override
+    @Transactional
+    @CacheEvict(value = "produtos", allEntries = true) // Uma limpeza por lote, não por produto
+    public List<Produto> cadastrarEmLote(List<Produto> produtos) {
+        List<Produto> salvos = produtoRepository.saveAll(produtos);
+        // Cardápios e índice de busca só refletem o lote depois do commit
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                salvos.stream()
+                        .map(produto -> produto.getRestaurante().getId())
+                        .distinct()
+                        .forEach(cardapioService::invalidar);
+                buscaProdutoService.indexarEmLote(salvos);
+            }
+        });
+        return salvos;
     }
 
     @Override
     @Cacheable(value = "produtos", key = "#id") // ✅ ARMAZENA o resultado deste método no cache
     public Produto buscarPorId(Long id) {
-        System.out.println("### BUSCANDO PRODUTO DO BANCO DE DADOS (CACHE MISS): ID " + id);
+        if (log.isDebugEnabled()) {
+            log.debug("Cache miss de produto, buscando no banco {}", kv("produtoId", id));
+        }
         return produtoRepository.findById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Produto não encontrado com o ID: " + id));
     }
 
+    @Override
+    public Long buscarVersao(Long id) {
+        return produtoRepository.buscarVersaoPorId(id).orElse(null);
+    }
+
+    @Override
+    public Map<Long, Produto> buscarPorIds(Collection<Long> ids) {
+        Set<Long> idsUnicos = new LinkedHashSet<>(ids);
+        Map<Long, Produto> encontrados = new HashMap<>(idsUnicos.size() * 2);
+        Cache cache = cacheManager.getCache(CACHE_PRODUTOS);
+
+        // 1. Multi-get no cache (L1 e depois um único MGET no L2): só os ausentes seguem para o banco
+        List<Long> faltantes = new ArrayList<>();
+        Map<Object, Object> emCache = cache != null ? CacheEmLote.buscarTodos(cache, idsUnicos) : Map.of();
+        for (Long id : idsUnicos) {
+            if (emCache.get(id) instanceof Produto produto) {
+                encontrados.put(id, produto);
+            } else {
+                faltantes.add(id);
+            }
+        }
+
+        // 2. Uma única consulta IN para todos os cache misses, que voltam para o cache de uma vez
+        if (!faltantes.isEmpty()) {
+            if (log.isDebugEnabled()) {
+                log.debug("Cache miss de produtos, buscando no banco {} {}",
+                        kv("quantidade", faltantes.size()), kv("produtoIds", faltantes));
+            }
+            Map<Long, Produto> carregados = new HashMap<>(faltantes.size() * 2);
+            for (Produto produto : produtoRepository.findByIdIn(faltantes)) {
+                carregados.put(produto.getId(), produto);
+            }
+            encontrados.putAll(carregados);
+            if (cache != null) {
+                CacheEmLote.colocarTodos(cache, carregados);
+            }
+        }
+
+        for (Long id : idsUnicos) {
+            if (!encontrados.containsKey(id)) {
+                throw new EntityNotFoundException("Produto não encontrado com o ID: " + id);
+            }
+        }
+        return encontrados;
+    }
+
     @Override
     public List<Produto> buscarPorRestaurante(Long restauranteId) {
-        // Nota: Poderíamos cachear esta lista também com @Cacheable(value = "produtosPorRestaurante", key="#restauranteId")
+        // A listagem pública do cardápio usa o snapshot pré-serializado do CardapioService
         return produtoRepository.findByRestauranteId(restauranteId);
     }
 
     @Override
     @CacheEvict(value = "produtos", key = "#id") // ✅ REMOVE a entrada específica do cache ao atualizar
     public Produto atualizar(Long id, Produto atualizado) {
-        System.out.println("### ATUALIZANDO PRODUTO NO BANCO E LIMPANDO CACHE: ID " + id);
+        log.info("Atualizando produto e limpando cache {}", kv("produtoId", id));
         Produto existente = buscarPorId(id);
 
         existente.setNome(atualizado.getNome());
@@ -49,15 +145,28 @@ public class ProdutoServiceImpl implements ProdutoService {
         existente.setCategoria(atualizado.getCategoria());
         existente.setPreco(atualizado.getPreco());
 
-        return produtoRepository.save(existente);
+        Produto salvo = produtoRepository.save(existente);
+        invalidarLeituras(id);
+        buscaProdutoService.indexar(salvo);
+        return salvo;
     }
 
     @Override
     @CacheEvict(value = "produtos", key = "#id") // ✅ REMOVE a entrada específica do cache ao alterar disponibilidade
     public void alterarDisponibilidade(Long id, boolean disponivel) {
-        System.out.println("### ALTERANDO DISPONIBILIDADE NO BANCO E LIMPANDO CACHE: ID " + id);
+        log.info("Alterando disponibilidade do produto e limpando cache {} {}",
+                kv("produtoId", id), kv("disponivel", disponivel));
         Produto produto = buscarPorId(id);
         produto.setDisponivel(disponivel);
-        produtoRepository.save(produto);
+        Produto salvo = produtoRepository.save(produto);
+        invalidarLeituras(id);
+        buscaProdutoService.indexar(salvo);
+    }
+
+    // Invalida o ETag do produto e o snapshot do cardápio do restaurante.
+    // O produto pode ter vindo do cache sem o restaurante (@JsonIgnore), então o ID é consultado
+    private void invalidarLeituras(Long produtoId) {
+        etagCache.invalidar(EtagCache.chave(EtagCache.PRODUTO, produtoId));
+        produtoRepository.buscarRestauranteIdPorId(produtoId).ifPresent(cardapioService::invalidar);
     }
 }
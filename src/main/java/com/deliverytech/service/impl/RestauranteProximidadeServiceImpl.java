@@ -0,0 +1,207 @@
+package com.deliverytech.service.impl;
+
+import com.deliverytech.cache.InvalidacaoCache;
+import com.deliverytech.cache.InvalidacaoCacheBarramento;
+import com.deliverytech.dto.response.RestauranteProximoResponse;
+import com.deliverytech.dto.response.RestauranteResponse;
+import com.deliverytech.entity.Restaurante;
+import com.deliverytech.exception.BusinessException;
+import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.service.RestauranteProximidadeService;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.PriorityQueue;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Índice espacial em grade para a busca "restaurantes perto de mim".
+ *
+ * O mapa é dividido em células de "celula-graus" graus; cada célula guarda os IDs dos
+ * restaurantes dentro dela. A busca percorre anéis de células a partir da célula do usuário e
+ * para assim que os k melhores encontrados estão mais perto do que qualquer restaurante dos
+ * anéis ainda não visitados, calculando a distância só para os restaurantes vizinhos.
+ * A passagem pelo antimeridiano (longitude ±180) não é tratada.
+ */
+@Slf4j
+@Service
+public class RestauranteProximidadeServiceImpl implements RestauranteProximidadeService {
+
+    private static final String CANAL = "proximidade-restaurantes";
+    private static final double RAIO_TERRA_KM = 6371.0;
+    private static final double KM_POR_GRAU = 111.32;
+    private static final int K_MAXIMO = 50;
+    private static final double RAIO_MAXIMO_KM = 100.0;
+
+    private record Localizado(RestauranteResponse restaurante, double latitude, double longitude, long celula) {}
+
+    private record Candidato(Localizado localizado, double distanciaKm) {}
+
+    private final RestauranteRepository restauranteRepository;
+    private final InvalidacaoCacheBarramento barramento;
+    private final double celulaGraus;
+    private final String idNo = UUID.randomUUID().toString();
+
+    private final Map<Long, Localizado> restaurantes = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Long>> celulas = new ConcurrentHashMap<>();
+
+    public RestauranteProximidadeServiceImpl(RestauranteRepository restauranteRepository,
+                                             ObjectProvider<InvalidacaoCacheBarramento> barramento,
+                                             @Value("${restaurantes.proximidade.celula-graus:0.05}") double celulaGraus) {
+        this.restauranteRepository = restauranteRepository;
+        this.celulaGraus = celulaGraus;
+        this.barramento = barramento.getIfAvailable();
+        if (this.barramento != null) {
+            this.barramento.inscrever(this::receberAlteracao);
+        }
+    }
+
+    @Override
+    public List<RestauranteProximoResponse> buscarProximos(double latitude, double longitude, int k, String categoria,
+                                                           boolean ativo, Integer tempoEntregaMaximo, double raioKm) {
+        if (latitude < -90 || latitude > 90 || longitude < -180 || longitude > 180) {
+            throw new BusinessException("Coordenadas inválidas");
+        }
+        int limite = Math.min(Math.max(k, 1), K_MAXIMO);
+        double raio = Math.min(Math.max(raioKm, 0), RAIO_MAXIMO_KM);
+
+        // Menor lado de uma célula em km: a largura em longitude encolhe com o cosseno da latitude
+        double ladoMinimoKm = celulaGraus * KM_POR_GRAU * Math.max(0.01, Math.cos(Math.toRadians(latitude)));
+        int anelMaximo = (int) Math.ceil(raio / ladoMinimoKm) + 1;
+        int linhaCentral = indice(latitude);
+        int colunaCentral = indice(longitude);
+
+        // Max-heap com os k mais próximos até agora
+        PriorityQueue<Candidato> melhores = new PriorityQueue<>(
+                Comparator.comparingDouble(Candidato::distanciaKm).reversed());
+        for (int anel = 0; anel <= anelMaximo; anel++) {
+            for (int linha = linhaCentral - anel; linha <= linhaCentral + anel; linha++) {
+                boolean borda = linha == linhaCentral - anel || linha == linhaCentral + anel;
+                // Nas linhas do meio só as duas colunas da borda pertencem a este anel
+                int passo = borda ? 1 : Math.max(1, 2 * anel);
+                for (int coluna = colunaCentral - anel; coluna <= colunaCentral + anel; coluna += passo) {
+                    avaliarCelula(chave(linha, coluna), latitude, longitude, categoria, ativo,
+                            tempoEntregaMaximo, raio, limite, melhores);
+                }
+            }
+            // Restaurantes em anéis mais externos estão a pelo menos anel * lado da célula
+            if (melhores.size() == limite && melhores.peek().distanciaKm() <= anel * ladoMinimoKm) {
+                break;
+            }
+        }
+
+        List<RestauranteProximoResponse> resposta = new ArrayList<>(melhores.size());
+        melhores.stream()
+                .sorted(Comparator.comparingDouble(Candidato::distanciaKm))
+                .forEach(c -> resposta.add(new RestauranteProximoResponse(c.localizado().restaurante(),
+                        Math.round(c.distanciaKm() * 100) / 100.0)));
+        return resposta;
+    }
+
+    private void avaliarCelula(long celula, double latitude, double longitude, String categoria, boolean ativo,
+                               Integer tempoEntregaMaximo, double raio, int limite, PriorityQueue<Candidato> melhores) {
+        Set<Long> ids = celulas.get(celula);
+        if (ids == null) {
+            return;
+        }
+        for (Long id : ids) {
+            Localizado localizado = restaurantes.get(id);
+            // Durante uma mudança de célula o id fica nas duas; só conta na célula atual, senão entraria duas vezes no heap
+            if (localizado == null || localizado.celula() != celula || !atende(localizado.restaurante(), categoria, ativo, tempoEntregaMaximo)) {
+                continue;
+            }
+            double distancia = distanciaKm(latitude, longitude, localizado.latitude(), localizado.longitude());
+            if (distancia > raio) {
+                continue;
+            }
+            if (melhores.size() < limite) {
+                melhores.add(new Candidato(localizado, distancia));
+            } else if (distancia < melhores.peek().distanciaKm()) {
+                melhores.poll();
+                melhores.add(new Candidato(localizado, distancia));
+            }
+        }
+    }
+
+    private static boolean atende(RestauranteResponse restaurante, String categoria, boolean ativo, Integer tempoEntregaMaximo) {
+        return restaurante.isAtivo() == ativo
+                && (categoria == null || categoria.equalsIgnoreCase(restaurante.getCategoria()))
+                && (tempoEntregaMaximo == null
+                    || (restaurante.getTempoEntrega() != null && restaurante.getTempoEntrega() <= tempoEntregaMaximo));
+    }
+
+    @Override
+    public void indexar(Restaurante restaurante) {
+        atualizarIndice(restaurante);
+        if (barramento != null) {
+            barramento.publicar(new InvalidacaoCache(idNo, CANAL, String.valueOf(restaurante.getId())));
+        }
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    @Transactional(readOnly = true)
+    public void reconstruir() {
+        restauranteRepository.findAll().forEach(this::atualizarIndice);
+        log.info("Índice de proximidade montado com {} restaurantes em {} células", restaurantes.size(), celulas.size());
+    }
+
+    private void receberAlteracao(InvalidacaoCache mensagem) {
+        if (!CANAL.equals(mensagem.cache()) || idNo.equals(mensagem.origem()) || mensagem.chave() == null) {
+            return;
+        }
+        restauranteRepository.findById(Long.valueOf(mensagem.chave())).ifPresent(this::atualizarIndice);
+    }
+
+    private synchronized void atualizarIndice(Restaurante restaurante) {
+        Localizado anterior;
+        if (restaurante.getLatitude() == null || restaurante.getLongitude() == null) {
+            anterior = restaurantes.remove(restaurante.getId());
+        } else {
+            long celula = chave(indice(restaurante.getLatitude()), indice(restaurante.getLongitude()));
+            anterior = restaurantes.put(restaurante.getId(), new Localizado(RestauranteResponse.de(restaurante),
+                    restaurante.getLatitude(), restaurante.getLongitude(), celula));
+            celulas.computeIfAbsent(celula, c -> ConcurrentHashMap.newKeySet()).add(restaurante.getId());
+            if (anterior != null && anterior.celula() == celula) {
+                return;
+            }
+        }
+        // Mudou de célula (ou perdeu as coordenadas): sai da célula antiga
+        if (anterior != null) {
+            Set<Long> ids = celulas.get(anterior.celula());
+            if (ids != null) {
+                ids.remove(restaurante.getId());
+                if (ids.isEmpty()) {
+                    celulas.remove(anterior.celula(), ids);
+                }
+            }
+        }
+    }
+
+    private int indice(double grau) {
+        return (int) Math.floor(grau / celulaGraus);
+    }
+
+    private static long chave(int linha, int coluna) {
+        return ((long) linha << 32) | (coluna & 0xFFFFFFFFL);
+    }
+
+    // Fórmula de haversine
+    private static double distanciaKm(double lat1, double lon1, double lat2, double lon2) {
+        double dLat = Math.toRadians(lat2 - lat1);
+        double dLon = Math.toRadians(lon2 - lon1);
+        double a = Math.sin(dLat / 2) * Math.sin(dLat / 2)
+                + Math.cos(Math.toRadians(lat1)) * Math.cos(Math.toRadians(lat2)) * Math.sin(dLon / 2) * Math.sin(dLon / 2);
+        return 2 * RAIO_TERRA_KM * Math.asin(Math.sqrt(a));
+    }
+}
@@ -1,8 +1,11 @@
 package com.deliverytech.service.impl;
 
+import com.deliverytech.cache.EtagCache;
 import com.deliverytech.entity.Restaurante;
 import com.deliverytech.exception.EntityNotFoundException; // Importe a nova exceção
 import com.deliverytech.repository.RestauranteRepository;
+import com.deliverytech.repository.projection.RestaurantesVersaoView;
+import com.deliverytech.service.RestauranteProximidadeService;
 import com.deliverytech.service.RestauranteService;
 import lombok.RequiredArgsConstructor;
 import org.springframework.stereotype.Service;
@@ -15,11 +18,16 @@ import java.util.Optional;
 public class RestauranteServiceImpl implements RestauranteService {
 
     private final RestauranteRepository restauranteRepository;
+    private final EtagCache etagCache;
+    private final RestauranteProximidadeService proximidadeService;
 
     @Override
     public Restaurante cadastrar(Restaurante restaurante) {
         // Você poderia adicionar lógicas de negócio aqui, como verificar se o nome já existe
-        return restauranteRepository.save(restaurante);
+        Restaurante salvo = restauranteRepository.save(restaurante);
+        etagCache.invalidar(EtagCache.RESTAURANTES_TODOS);
+        proximidadeService.indexar(salvo);
+        return salvo;
     }
 
     @Override
@@ -29,11 +37,21 @@ public class RestauranteServiceImpl implements RestauranteService {
                 .orElseThrow(() -> new EntityNotFoundException("Restaurante não encontrado com o ID: " + id));
     }
 
+    @Override
+    public Long buscarVersao(Long id) {
+        return restauranteRepository.buscarVersaoPorId(id).orElse(null);
+    }
+
     @Override
     public List<Restaurante> listarTodos() {
         return restauranteRepository.findAll();
     }
 
+    @Override
+    public RestaurantesVersaoView buscarVersaoDaLista() {
+        return restauranteRepository.buscarVersaoDaLista();
+    }
+
     @Override
     public List<Restaurante> buscarPorCategoria(String categoria) {
         return restauranteRepository.findByCategoria(categoria);
@@ -51,7 +69,13 @@ public class RestauranteServiceImpl implements RestauranteService {
         restauranteExistente.setTempoEntrega(restauranteAtualizado.getTempoEntrega());
         restauranteExistente.setEndereco(restauranteAtualizado.getEndereco());
         restauranteExistente.setHorarioFuncionamento(restauranteAtualizado.getHorarioFuncionamento());
+        restauranteExistente.setLatitude(restauranteAtualizado.getLatitude());
+        restauranteExistente.setLongitude(restauranteAtualizado.getLongitude());
         
-        return restauranteRepository.save(restauranteExistente);
+        Restaurante salvo = restauranteRepository.save(restauranteExistente);
+        etagCache.invalidar(EtagCache.chave(EtagCache.RESTAURANTE, id));
+        etagCache.invalidar(EtagCache.RESTAURANTES_TODOS);
+        proximidadeService.indexar(salvo);
+        return salvo;
     }
 }
@@ -0,0 +1,50 @@
+package com.deliverytech.system.monitoring;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Amostragem de logs de alto volume, configurada no logback-spring.xml (uma instância por logger):
+ * dos eventos do logger "logger" (e filhos) com nível até "nivel", só 1 a cada "taxa" é gravado.
+ *
+ * Como TurboFilter, decide antes de o evento ser montado, então os descartados não custam
+ * formatação nem espaço na fila do appender assíncrono.
+ */
+public class AmostragemLogTurboFilter extends TurboFilter {
+
+    private final AtomicLong contador = new AtomicLong();
+    private String logger = "";
+    private Level nivel = Level.DEBUG;
+    private int taxa = 100;
+
+    @Override
+    public FilterReply decide(Marker marker, Logger alvo, Level level, String format, Object[] params, Throwable t) {
+        // format nulo: é só um isDebugEnabled(); a amostragem vale para a chamada de log em si
+        if (format == null || level.toInt() > nivel.toInt()
+                || !level.isGreaterOrEqual(alvo.getEffectiveLevel()) || !pertence(alvo.getName())) {
+            return FilterReply.NEUTRAL;
+        }
+        return contador.getAndIncrement() % taxa == 0 ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    private boolean pertence(String nome) {
+        return nome.startsWith(logger) && (nome.length() == logger.length() || nome.charAt(logger.length()) == '.');
+    }
+
+    public void setLogger(String logger) {
+        this.logger = logger;
+    }
+
+    public void setNivel(String nivel) {
+        this.nivel = Level.toLevel(nivel, Level.DEBUG);
+    }
+
+    public void setTaxa(int taxa) {
+        this.taxa = Math.max(1, taxa);
+    }
+}
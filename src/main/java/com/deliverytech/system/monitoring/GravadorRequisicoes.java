@@ -0,0 +1,140 @@
+package com.deliverytech.system.monitoring;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.invoke.VarHandle;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * "Caixa-preta" das últimas requisições: buffer circular de tamanho fixo, sem lock.
+ *
+ * Os slots são alocados uma única vez; gravar uma requisição só copia referências e números para
+ * o próximo slot. Cada slot tem um estado (0 vazio, -1 em escrita, n > 0 sequência publicada) que
+ * funciona como seqlock: o escritor toma o slot com compare-and-set e publica a sequência ao final;
+ * o leitor copia os campos e descarta a cópia se o estado mudou no meio. Se o buffer der a volta
+ * enquanto um slot ainda está sendo escrito, a requisição mais nova é descartada.
+ *
+ * O tempo de banco é acumulado por thread pelo LatenciaAspect (tempo dentro dos repositórios).
+ */
+@Component
+public class GravadorRequisicoes {
+
+    public record Requisicao(long sequencia, String correlationId, String metodo, String rota, int status,
+                             long inicioEpochMs, double duracaoMs, double tempoBancoMs, Long usuarioId) {}
+
+    private static final class Slot {
+        final AtomicLong estado = new AtomicLong();
+        String correlationId;
+        String metodo;
+        String rota;
+        int status;
+        long inicioEpochMs;
+        long duracaoNanos;
+        long tempoBancoNanos;
+        long usuarioId;
+    }
+
+    private static final long SEM_USUARIO = Long.MIN_VALUE;
+
+    private final Slot[] slots;
+    private final int mascara;
+    private final AtomicLong sequencia = new AtomicLong();
+    // Nanossegundos gastos em repositórios pela requisição corrente da thread
+    private final ThreadLocal<long[]> tempoBanco = ThreadLocal.withInitial(() -> new long[1]);
+
+    public GravadorRequisicoes(@Value("${monitoramento.requisicoes.capacidade:4096}") int capacidade) {
+        // Potência de 2 para o índice ser um AND em vez de um resto de divisão
+        int tamanho = Integer.highestOneBit(Math.max(2, capacidade - 1)) << 1;
+        this.slots = new Slot[tamanho];
+        for (int i = 0; i < tamanho; i++) {
+            slots[i] = new Slot();
+        }
+        this.mascara = tamanho - 1;
+    }
+
+    public int getCapacidade() {
+        return slots.length;
+    }
+
+    public long getTotalGravadas() {
+        return sequencia.get();
+    }
+
+    // --- Caminho da requisição ---
+
+    public void iniciarRequisicao() {
+        tempoBanco.get()[0] = 0;
+    }
+
+    public void acumularTempoBanco(long nanos) {
+        tempoBanco.get()[0] += nanos;
+    }
+
+    public void gravar(String correlationId, String metodo, String rota, int status,
+                       long inicioEpochMs, long duracaoNanos, Long usuarioId) {
+        long seq = sequencia.incrementAndGet();
+        Slot slot = slots[(int) (seq & mascara)];
+        long atual = slot.estado.get();
+        if (atual < 0 || !slot.estado.compareAndSet(atual, -1)) {
+            return;
+        }
+        VarHandle.storeStoreFence();
+        slot.correlationId = correlationId;
+        slot.metodo = metodo;
+        slot.rota = rota;
+        slot.status = status;
+        slot.inicioEpochMs = inicioEpochMs;
+        slot.duracaoNanos = duracaoNanos;
+        slot.tempoBancoNanos = tempoBanco.get()[0];
+        slot.usuarioId = usuarioId != null ? usuarioId : SEM_USUARIO;
+        slot.estado.set(seq);
+    }
+
+    // --- Consultas (endpoint do actuator) ---
+
+    /**
+     * Cópia consistente das requisições iniciadas a partir de "desdeEpochMs".
+     */
+    public List<Requisicao> copiar(long desdeEpochMs) {
+        List<Requisicao> copia = new ArrayList<>();
+        for (Slot slot : slots) {
+            long antes = slot.estado.get();
+            if (antes <= 0) {
+                continue;
+            }
+            String correlationId = slot.correlationId;
+            String metodo = slot.metodo;
+            String rota = slot.rota;
+            int status = slot.status;
+            long inicio = slot.inicioEpochMs;
+            long duracao = slot.duracaoNanos;
+            long banco = slot.tempoBancoNanos;
+            long usuario = slot.usuarioId;
+            VarHandle.loadLoadFence();
+            if (slot.estado.get() != antes || inicio < desdeEpochMs) {
+                continue;
+            }
+            copia.add(new Requisicao(antes, correlationId, metodo, rota, status, inicio,
+                    duracao / 1_000_000.0, banco / 1_000_000.0, usuario == SEM_USUARIO ? null : usuario));
+        }
+        return copia;
+    }
+
+    public List<Requisicao> maisLentas(long desdeEpochMs, int limite) {
+        return copiar(desdeEpochMs).stream()
+                .sorted(Comparator.comparingDouble(Requisicao::duracaoMs).reversed())
+                .limit(limite)
+                .toList();
+    }
+
+    public List<Requisicao> maisRecentes(long desdeEpochMs, int limite) {
+        return copiar(desdeEpochMs).stream()
+                .sorted(Comparator.comparingLong(Requisicao::sequencia).reversed())
+                .limit(limite)
+                .toList();
+    }
+}
@@ -0,0 +1,156 @@
+package com.deliverytech.system.monitoring;
+
+import com.deliverytech.exception.EntityNotFoundException;
+import com.deliverytech.service.MetricaLatencia;
+import com.deliverytech.service.MetricsService;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.aspectj.lang.ProceedingJoinPoint;
+import org.aspectj.lang.annotation.Around;
+import org.aspectj.lang.annotation.Aspect;
+import org.aspectj.lang.reflect.MethodSignature;
+import org.springframework.aop.framework.AopProxyUtils;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.lang.reflect.Method;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Mede a latência de todos os métodos dos *ServiceImpl e dos repositórios, sem alterar cada método.
+ * Gera o timer "deliverytech.metodo.latencia" com as tags camada, classe, metodo e resultado
+ * (success, not_found ou error), usando System.nanoTime.
+ *
+ * Cada Timer (método + resultado) só é registrado quando o primeiro valor daquele resultado é
+ * gravado, e reaproveitado depois: o caminho quente não cria builders nem consulta o registry, e
+ * séries de not_found/error que nunca acontecem não são exportadas. Métodos anotados com
+ * @LatenciaNomeada também alimentam o timer nomeado do MetricsService.
+ */
+@Aspect
+@Component
+public class LatenciaAspect {
+
+    private static final String METRICA = "deliverytech.metodo.latencia";
+    private static final String CAMADA_REPOSITORY = "repository";
+
+    private final MeterRegistry meterRegistry;
+    private final GravadorRequisicoes gravadorRequisicoes;
+    private final MetricsService metricsService;
+    private final boolean histograma;
+    private final double[] percentis;
+
+    // classe alvo -> método -> medidores do método
+    private final Map<Class<?>, Map<Method, Medidores>> medidores = new ConcurrentHashMap<>();
+
+    // Timers indexados por Resultado.ordinal() (criados sob demanda) e, se houver, a métrica nomeada
+    private record Medidores(String camada, String classe, String metodo,
+                             AtomicReferenceArray<Timer> porResultado, MetricaLatencia nomeada) {}
+
+    public LatenciaAspect(MeterRegistry meterRegistry,
+                          GravadorRequisicoes gravadorRequisicoes,
+                          MetricsService metricsService,
+                          @Value("${metricas.latencia.histograma:false}") boolean histograma,
+                          @Value("${metricas.latencia.percentis:}") double[] percentis) {
+        this.meterRegistry = meterRegistry;
+        this.gravadorRequisicoes = gravadorRequisicoes;
+        this.metricsService = metricsService;
+        this.histograma = histograma;
+        this.percentis = percentis;
+    }
+
+    @Around("within(com.deliverytech.service.impl..*)")
+    public Object medirService(ProceedingJoinPoint pjp) throws Throwable {
+        return medir(pjp, "service");
+    }
+
+    // Os repositórios do Spring Data são proxies; casamos pelo tipo do alvo (SimpleJpaRepository)
+    @Around("target(org.springframework.data.repository.Repository)")
+    public Object medirRepository(ProceedingJoinPoint pjp) throws Throwable {
+        return medir(pjp, CAMADA_REPOSITORY);
+    }
+
+    private Object medir(ProceedingJoinPoint pjp, String camada) throws Throwable {
+        long inicio = System.nanoTime();
+        Resultado resultado = Resultado.SUCCESS;
+        try {
+            return pjp.proceed();
+        } catch (EntityNotFoundException e) {
+            resultado = Resultado.NOT_FOUND;
+            throw e;
+        } catch (Throwable e) {
+            resultado = Resultado.ERROR;
+            throw e;
+        } finally {
+            long duracao = System.nanoTime() - inicio;
+            Medidores doMetodo = medidoresDe(pjp, camada);
+            timerDe(doMetodo, resultado).record(duracao, TimeUnit.NANOSECONDS);
+            if (doMetodo.nomeada() != null) {
+                metricsService.registrarLatencia(doMetodo.nomeada(), duracao, TimeUnit.NANOSECONDS);
+            }
+            if (CAMADA_REPOSITORY.equals(camada)) {
+                gravadorRequisicoes.acumularTempoBanco(duracao);
+            }
+        }
+    }
+
+    private Medidores medidoresDe(ProceedingJoinPoint pjp, String camada) {
+        Class<?> alvo = pjp.getTarget().getClass();
+        Method metodo = ((MethodSignature) pjp.getSignature()).getMethod();
+        return medidores.computeIfAbsent(alvo, c -> new ConcurrentHashMap<>())
+                .computeIfAbsent(metodo, m -> {
+                    LatenciaNomeada nomeada = m.getAnnotation(LatenciaNomeada.class);
+                    return new Medidores(camada, nomeDaClasse(pjp.getTarget()), m.getName(),
+                            new AtomicReferenceArray<>(Resultado.values().length),
+                            nomeada != null ? nomeada.value() : null);
+                });
+    }
+
+    private Timer timerDe(Medidores doMetodo, Resultado resultado) {
+        Timer timer = doMetodo.porResultado().get(resultado.ordinal());
+        if (timer == null) {
+            // Corrida inofensiva: o registry devolve o mesmo Timer para o mesmo nome e tags
+            timer = registrar(doMetodo, resultado);
+            doMetodo.porResultado().set(resultado.ordinal(), timer);
+        }
+        return timer;
+    }
+
+    private Timer registrar(Medidores doMetodo, Resultado resultado) {
+        Timer.Builder builder = Timer.builder(METRICA)
+                .description("Latência dos métodos de serviço e repositório")
+                .tag("camada", doMetodo.camada())
+                .tag("classe", doMetodo.classe())
+                .tag("metodo", doMetodo.metodo())
+                .tag("resultado", resultado.tag)
+                .publishPercentileHistogram(histograma);
+        if (percentis.length > 0) {
+            builder.publishPercentiles(percentis);
+        }
+        return builder.register(meterRegistry);
+    }
+
+    // Para repositórios, o nome útil é o da interface (ex: PedidoRepository), não o do proxy
+    private static String nomeDaClasse(Object alvo) {
+        for (Class<?> interfaceProxiada : AopProxyUtils.proxiedUserInterfaces(alvo)) {
+            if (interfaceProxiada.getName().startsWith("com.deliverytech.")) {
+                return interfaceProxiada.getSimpleName();
+            }
+        }
+        return AopProxyUtils.ultimateTargetClass(alvo).getSimpleName();
+    }
+
+    private enum Resultado {
+        SUCCESS("success"),
+        NOT_FOUND("not_found"),
+        ERROR("error");
+
+        private final String tag;
+
+        Resultado(String tag) {
+            this.tag = tag;
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.deliverytech.system.monitoring;
+
+import com.deliverytech.service.MetricaLatencia;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Além do timer genérico do LatenciaAspect, registra a duração do método no timer nomeado
+ * do MetricsService (ex: buscar_pedido_id_latency_seconds), consumido pelos dashboards.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface LatenciaNomeada {
+
+    MetricaLatencia value();
+}
@@ -0,0 +1,63 @@
+package com.deliverytech.system.monitoring;
+
+import com.deliverytech.security.UsuarioPrincipal;
+import jakarta.servlet.FilterChain;
+import jakarta.servlet.ServletException;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.MDC;
+import org.springframework.http.HttpStatus;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.web.filter.OncePerRequestFilter;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.io.IOException;
+
+/**
+ * Grava cada requisição no GravadorRequisicoes. Roda dentro da cadeia do Spring Security, antes
+ * do JwtAuthenticationFilter, para que ao final ainda enxergue o usuário autenticado; a rota é o
+ * padrão do mapeamento (ex: /api/pedidos/{id}), não a URI, para agrupar requisições iguais.
+ */
+@Component
+public class RegistroRequisicaoFilter extends OncePerRequestFilter {
+
+    private static final String CORRELATION_ID_MDC_KEY = "correlationId";
+
+    private final GravadorRequisicoes gravador;
+
+    public RegistroRequisicaoFilter(GravadorRequisicoes gravador) {
+        this.gravador = gravador;
+    }
+
+    @Override
+    protected void doFilterInternal(HttpServletRequest request, HttpServletResponse response, FilterChain filterChain)
+            throws ServletException, IOException {
+        long inicioEpochMs = System.currentTimeMillis();
+        long inicio = System.nanoTime();
+        gravador.iniciarRequisicao();
+        boolean falhou = true;
+        try {
+            filterChain.doFilter(request, response);
+            falhou = false;
+        } finally {
+            Object padrao = request.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+            gravador.gravar(MDC.get(CORRELATION_ID_MDC_KEY),
+                    request.getMethod(),
+                    padrao != null ? padrao.toString() : request.getRequestURI(),
+                    // Exceção não tratada: o 500 só é montado depois, no dispatch de erro
+                    falhou ? HttpStatus.INTERNAL_SERVER_ERROR.value() : response.getStatus(),
+                    inicioEpochMs,
+                    System.nanoTime() - inicio,
+                    usuarioAtual());
+        }
+    }
+
+    private static Long usuarioAtual() {
+        Authentication autenticacao = SecurityContextHolder.getContext().getAuthentication();
+        return autenticacao != null && autenticacao.getPrincipal() instanceof UsuarioPrincipal usuario
+                ? usuario.getUserId()
+                : null;
+    }
+}
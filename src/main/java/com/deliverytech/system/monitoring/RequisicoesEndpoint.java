@@ -0,0 +1,42 @@
+package com.deliverytech.system.monitoring;
+
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.lang.Nullable;
+import org.springframework.stereotype.Component;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * GET /actuator/requisicoes?ordem=lentas|recentes&limite=20&janelaSegundos=60
+ * Consulta a caixa-preta de requisições (GravadorRequisicoes) sem depender de logs externos.
+ */
+@Component
+@Endpoint(id = "requisicoes")
+public class RequisicoesEndpoint {
+
+    private static final int LIMITE_MAXIMO = 1000;
+
+    private final GravadorRequisicoes gravador;
+
+    public RequisicoesEndpoint(GravadorRequisicoes gravador) {
+        this.gravador = gravador;
+    }
+
+    @ReadOperation
+    public Map<String, Object> consultar(@Nullable String ordem, @Nullable Integer limite, @Nullable Long janelaSegundos) {
+        int quantidade = Math.min(Math.max(limite != null ? limite : 20, 1), LIMITE_MAXIMO);
+        long desde = System.currentTimeMillis() - 1000L * (janelaSegundos != null ? janelaSegundos : 60);
+        List<GravadorRequisicoes.Requisicao> requisicoes = "recentes".equalsIgnoreCase(ordem)
+                ? gravador.maisRecentes(desde, quantidade)
+                : gravador.maisLentas(desde, quantidade);
+
+        Map<String, Object> resposta = new LinkedHashMap<>();
+        resposta.put("capacidade", gravador.getCapacidade());
+        resposta.put("totalGravadas", gravador.getTotalGravadas());
+        resposta.put("requisicoes", requisicoes);
+        return resposta;
+    }
+}
@@ -0,0 +1,101 @@
+package com.deliverytech.cache;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Dois nós (dois MultiNivelCacheManager) com o mesmo L2 em memória e o barramento local,
+ * no lugar do Redis compartilhado e do pub/sub.
+ */
+class MultiNivelCacheManagerTest {
+
+    private static final String CACHE = "produtos";
+
+    private ConcurrentMapCacheManager l2;
+    private MultiNivelCacheManager noA;
+    private MultiNivelCacheManager noB;
+    private final List<InvalidacaoCache> publicadas = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        LocalInvalidacaoCacheBarramento barramento = new LocalInvalidacaoCacheBarramento();
+        barramento.inscrever(publicadas::add);
+        l2 = new ConcurrentMapCacheManager(CACHE);
+        noA = new MultiNivelCacheManager(l2, barramento, 100, Duration.ofMinutes(1));
+        noB = new MultiNivelCacheManager(l2, barramento, 100, Duration.ofMinutes(1));
+    }
+
+    @Test
+    void evictEmUmNoRemoveOL1DoOutro() {
+        noA.getCache(CACHE).put(1L, "v1");
+        // B carrega do L2 para o seu L1
+        assertThat(noB.getCache(CACHE).get(1L, String.class)).isEqualTo("v1");
+
+        // O L2 muda sem passar pelo B: ele continua servindo o L1 até ser invalidado
+        l2.getCache(CACHE).put(1L, "v2");
+        assertThat(noB.getCache(CACHE).get(1L, String.class)).isEqualTo("v1");
+
+        noA.getCache(CACHE).evict(1L);
+
+        assertThat(noB.getCache(CACHE).get(1L)).isNull();
+    }
+
+    @Test
+    void clearEmUmNoLimpaOL1DoOutro() {
+        noA.getCache(CACHE).put(1L, "v1");
+        Cache cacheB = noB.getCache(CACHE);
+        assertThat(cacheB.get(1L, String.class)).isEqualTo("v1");
+
+        noA.getCache(CACHE).clear();
+
+        assertThat(cacheB.get(1L)).isNull();
+    }
+
+    @Test
+    void putNaoPublicaInvalidacao() {
+        noB.getCache(CACHE);
+        noA.getCache(CACHE).put(1L, "v1");
+        assertThat(noB.getCache(CACHE).get(1L, String.class)).isEqualTo("v1");
+
+        // Preencher o mesmo valor em outro nó não derruba o L1 de ninguém
+        noB.getCache(CACHE).put(2L, "v2");
+        noA.getCache(CACHE).put(1L, "v1");
+
+        assertThat(publicadas).isEmpty();
+    }
+
+    @Test
+    void buscarTodosCombinaL1EL2ETrazOsAchadosParaOL1() {
+        noA.getCache(CACHE).put(1L, "v1");
+        l2.getCache(CACHE).put(2L, "v2");
+        MultiNivelCache cacheB = (MultiNivelCache) noB.getCache(CACHE);
+        assertThat(cacheB.get(1L, String.class)).isEqualTo("v1");
+
+        Map<Object, Object> encontrados = cacheB.buscarTodos(List.of(1L, 2L, 3L));
+
+        assertThat(encontrados).containsOnly(Map.entry(1L, "v1"), Map.entry(2L, "v2"));
+        // 2 agora está no L1 de B: continua visível mesmo se sumir do L2
+        l2.getCache(CACHE).evict(2L);
+        assertThat(cacheB.get(2L, String.class)).isEqualTo("v2");
+    }
+
+    @Test
+    void colocarTodosGravaNosDoisNiveis() {
+        MultiNivelCache cacheA = (MultiNivelCache) noA.getCache(CACHE);
+
+        cacheA.colocarTodos(Map.of(1L, "v1", 2L, "v2"));
+
+        assertThat(l2.getCache(CACHE).get(1L, String.class)).isEqualTo("v1");
+        assertThat(noB.getCache(CACHE).get(2L, String.class)).isEqualTo("v2");
+        assertThat(publicadas).isEmpty();
+    }
+}
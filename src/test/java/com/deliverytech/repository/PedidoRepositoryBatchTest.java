@@ -0,0 +1,94 @@
+package com.deliverytech.repository;
+
+import com.deliverytech.entity.Cliente;
+import com.deliverytech.entity.Endereco;
+import com.deliverytech.entity.ItemPedido;
+import com.deliverytech.entity.Pedido;
+import com.deliverytech.entity.Produto;
+import com.deliverytech.entity.Restaurante;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+
+import java.math.BigDecimal;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Com ids de sequência (pooled) e hibernate.jdbc.batch_size, os INSERTs de um pedido e dos seus
+ * itens saem em lote: um PreparedStatement por tabela, e não um por linha como com IDENTITY.
+ */
+@DataJpaTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+class PedidoRepositoryBatchTest {
+
+    private static final int ITENS = 20;
+
+    @Autowired
+    private PedidoRepository pedidoRepository;
+
+    @Autowired
+    private TestEntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    private Statistics statistics;
+    private Cliente cliente;
+    private Restaurante restaurante;
+    private Produto produto;
+
+    @BeforeEach
+    void setUp() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        cliente = entityManager.persist(Cliente.builder()
+                .nome("Cliente Lote").email("lote@deliverytech.com").telefone("11999999999").build());
+        restaurante = entityManager.persist(Restaurante.builder()
+                .nome("Restaurante Lote").categoria("Italiana").build());
+        produto = entityManager.persist(Produto.builder()
+                .nome("Pizza").preco(new BigDecimal("40.00")).restaurante(restaurante).build());
+
+        // Aquece as sequências: com valor inicial 1 o otimizador pooled só tem um bloco de 50 ids
+        // depois da segunda leitura, e a partir daí só volta ao banco a cada 50 ids
+        pedidoRepository.save(novoPedido(1));
+        pedidoRepository.save(novoPedido(1));
+        entityManager.flush();
+        entityManager.clear();
+        statistics.clear();
+    }
+
+    @Test
+    void salvarPedidoComItensUsaUmStatementPorTabela() {
+        pedidoRepository.save(novoPedido(ITENS));
+        entityManager.flush();
+
+        assertThat(statistics.getEntityInsertCount()).isEqualTo(1 + ITENS);
+        // INSERT em pedidos + INSERT em itens_pedido, cada um executado como um lote
+        assertThat(statistics.getPrepareStatementCount()).isEqualTo(2);
+    }
+
+    private Pedido novoPedido(int quantidadeItens) {
+        Pedido pedido = Pedido.builder()
+                .cliente(cliente)
+                .restaurante(restaurante)
+                .enderecoEntrega(new Endereco("Rua A", "1", "Centro", "São Paulo", "SP", "01000-000"))
+                .build();
+        for (int i = 0; i < quantidadeItens; i++) {
+            ItemPedido item = ItemPedido.builder()
+                    .pedido(pedido)
+                    .produto(produto)
+                    .quantidade(1)
+                    .precoUnitario(produto.getPreco())
+                    .build();
+            item.calcularSubtotal();
+            pedido.getItens().add(item);
+        }
+        pedido.calcularTotal();
+        return pedido;
+    }
+}